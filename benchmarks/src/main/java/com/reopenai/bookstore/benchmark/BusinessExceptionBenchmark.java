@@ -0,0 +1,90 @@
+package com.reopenai.bookstore.benchmark;
+
+import com.reopenai.bookstore.bean.ApiResponse;
+import com.reopenai.bookstore.bean.ErrorCode;
+import com.reopenai.bookstore.component.exception.BusinessException;
+import com.reopenai.bookstore.component.i18n.I18nConfig;
+import com.reopenai.bookstore.component.i18n.I18nUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The not-found path: a {@code DATA_NOT_FOUND} error raised below a call stack and answered in the request locale,
+ * with the former eager exception (message resolved and stack trace filled in the constructor) versus
+ * {@link BusinessException}.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar BusinessExceptionBenchmark}
+ * <p>
+ * Created by Allen Huang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessExceptionBenchmark {
+
+    /**
+     * Frames below the throw site, reactive pipelines are usually deep
+     */
+    @Param({"10", "100"})
+    private int depth;
+
+    private long bookId;
+
+    @Setup
+    public void setup() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/application");
+        messageSource.setDefaultEncoding("UTF-8");
+        new I18nConfig(messageSource);
+        bookId = 42L;
+    }
+
+    @Benchmark
+    public ApiResponse<Object> eager() {
+        return notFound(depth, true);
+    }
+
+    @Benchmark
+    public ApiResponse<Object> lazy() {
+        return notFound(depth, false);
+    }
+
+    private ApiResponse<Object> notFound(int frames, boolean eager) {
+        if (frames > 0) {
+            return notFound(frames - 1, eager);
+        }
+        try {
+            throw eager
+                    ? new EagerBusinessException(ErrorCode.DATA_NOT_FOUND, "bookId=" + bookId)
+                    : new BusinessException(ErrorCode.DATA_NOT_FOUND, "bookId=" + bookId);
+        } catch (EagerBusinessException e) {
+            return ApiResponse.failure(Locale.ENGLISH, e.errorCode, e.args);
+        } catch (BusinessException e) {
+            return ApiResponse.failure(Locale.ENGLISH, e.getErrorCode(), e.getArgs());
+        }
+    }
+
+    /**
+     * The business exception as it was: the message is resolved and the stack trace is filled in when it is created
+     */
+    private static class EagerBusinessException extends RuntimeException {
+
+        private final ErrorCode errorCode;
+
+        private final Object[] args;
+
+        EagerBusinessException(ErrorCode errorCode, Object... args) {
+            super(I18nUtil.parseLocaleMessage(Locale.SIMPLIFIED_CHINESE, errorCode, args));
+            this.errorCode = errorCode;
+            this.args = args;
+        }
+
+    }
+
+}
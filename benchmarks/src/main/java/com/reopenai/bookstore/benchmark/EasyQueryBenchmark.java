@@ -0,0 +1,47 @@
+package com.reopenai.bookstore.benchmark;
+
+import com.reopenai.bookstore.component.database.condition.AbstractEasyQuery;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.relational.core.query.Query;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the {@code queryBooks} condition chain, and what is derived from it per request.
+ * <p>
+ * Created by Allen Huang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EasyQueryBenchmark {
+
+    @Benchmark
+    public Object lambdaChain(QueryBenchmarkState state) {
+        return state.lambdaQuery();
+    }
+
+    @Benchmark
+    public Object metamodelChain(QueryBenchmarkState state) {
+        return state.metamodelQuery();
+    }
+
+    /**
+     * The chain turned into a Spring Data {@link Query}, as {@code R2dbcEntityTemplate.select} needs it
+     */
+    @Benchmark
+    public Query asQuery(QueryBenchmarkState state) {
+        return state.metamodelQuery().asQuery();
+    }
+
+    /**
+     * The chain turned into the cache key of the compiled SQL, see {@link AbstractEasyQuery#getShape()}
+     */
+    @Benchmark
+    public String shape(QueryBenchmarkState state) {
+        return state.metamodelQuery().getShape();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.reopenai.bookstore.benchmark;
+
+import com.reopenai.bookstore.bean.ErrorCode;
+import com.reopenai.bookstore.component.i18n.I18nConfig;
+import com.reopenai.bookstore.component.i18n.I18nUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving error messages through the {@code MessageSource} versus the compiled templates of {@link I18nUtil}.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar I18nBenchmark}
+ * <p>
+ * Created by Allen Huang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class I18nBenchmark {
+
+    private ResourceBundleMessageSource messageSource;
+
+    @Setup
+    public void setup() {
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/application");
+        messageSource.setDefaultEncoding("UTF-8");
+        new I18nConfig(messageSource);
+    }
+
+    @Benchmark
+    public String messageSourceNoArgs() {
+        return messageSource.getMessage(ErrorCode.MANY_REQUEST.getCode(), null, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public String compiledNoArgs() {
+        return I18nUtil.parseLocaleMessage(Locale.ENGLISH, ErrorCode.MANY_REQUEST);
+    }
+
+    @Benchmark
+    public String messageSourceArgs() {
+        return messageSource.getMessage(ErrorCode.PARAM_TYPE_MISMATCH.getCode(), new Object[]{"limit", "abc", "Integer"}, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public String compiledArgs() {
+        return I18nUtil.parseLocaleMessage(Locale.ENGLISH, ErrorCode.PARAM_TYPE_MISMATCH, "limit", "abc", "Integer");
+    }
+
+}
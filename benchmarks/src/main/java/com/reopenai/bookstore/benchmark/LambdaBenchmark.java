@@ -0,0 +1,32 @@
+package com.reopenai.bookstore.benchmark;
+
+import com.reopenai.bookstore.bean.entity.BookInfo;
+import com.reopenai.bookstore.bean.entity.BookInfo_;
+import com.reopenai.bookstore.component.lambda.XLambdaUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Column name resolution: {@link XLambdaUtil#property} versus the generated metamodel constant.
+ * <p>
+ * Created by Allen Huang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LambdaBenchmark {
+
+    @Benchmark
+    public String lambdaProperty() {
+        return XLambdaUtil.property(BookInfo::getCategoryId);
+    }
+
+    @Benchmark
+    public String metamodelColumn() {
+        return BookInfo_.CATEGORY_ID.getName();
+    }
+
+}
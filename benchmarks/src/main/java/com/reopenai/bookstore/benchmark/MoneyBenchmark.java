@@ -0,0 +1,67 @@
+package com.reopenai.bookstore.benchmark;
+
+import com.reopenai.bookstore.bean.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout line aggregation with {@link BigDecimal} prices versus {@link Money} prices.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar MoneyBenchmark}
+ * <p>
+ * Created by Allen Huang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"10", "200"})
+    private int lines;
+
+    private BigDecimal[] decimalPrices;
+
+    private Money[] moneyPrices;
+
+    private int[] quantities;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        decimalPrices = new BigDecimal[lines];
+        moneyPrices = new Money[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            // DECIMAL(19,4) values as the driver returns them
+            BigDecimal price = BigDecimal.valueOf(random.nextLong(100, 10_000_000), Money.SCALE);
+            decimalPrices[i] = price;
+            moneyPrices[i] = Money.of(price);
+            quantities[i] = random.nextInt(1, 10);
+        }
+    }
+
+    @Benchmark
+    public String bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            total = total.add(decimalPrices[i].multiply(new BigDecimal(quantities[i])));
+        }
+        return total.stripTrailingZeros().toPlainString();
+    }
+
+    @Benchmark
+    public String money() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < lines; i++) {
+            total = total.add(moneyPrices[i].multiply(quantities[i]));
+        }
+        return total.toString();
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.reopenai.bookstore.benchmark;
+
+import com.reopenai.bookstore.bean.request.QueryBookRequest;
+import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.bean.vo.BookDetailVO_;
+import com.reopenai.bookstore.component.database.condition.LambdaEaseQuery;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.StringUtils;
+
+/**
+ * A book search request and the query chains {@code BookInfoServiceImpl.queryBooks} builds from it.
+ * <p>
+ * Created by Allen Huang
+ */
+@State(Scope.Benchmark)
+public class QueryBenchmarkState {
+
+    QueryBookRequest request;
+
+    @Setup
+    public void setup() {
+        request = new QueryBookRequest();
+        request.setTitle("java");
+        request.setCategoryId(3L);
+        request.setCursor(1000L);
+        request.setLimit(50);
+    }
+
+    /**
+     * The chain with getter references, resolved through SerializedLambda
+     */
+    LambdaEaseQuery<BookDetailVO> lambdaQuery() {
+        return new LambdaEaseQuery<BookDetailVO>()
+                .eq(request.getId() != null, BookDetailVO::getId, request.getId())
+                .lt(request.getCursor() != null, BookDetailVO::getId, request.getCursor())
+                .like(StringUtils.hasText(request.getTitle()), BookDetailVO::getTitle, request.getTitle())
+                .like(StringUtils.hasText(request.getAuthor()), BookDetailVO::getAuthor, request.getAuthor())
+                .eq(request.getCategoryId() != null, BookDetailVO::getCategoryId, request.getCategoryId())
+                .orderByDesc(BookDetailVO::getId)
+                .limit(request.getLimit());
+    }
+
+    /**
+     * The chain with the generated metamodel constants
+     */
+    LambdaEaseQuery<BookDetailVO> metamodelQuery() {
+        return new LambdaEaseQuery<BookDetailVO>()
+                .eq(request.getId() != null, BookDetailVO_.ID, request.getId())
+                .lt(request.getCursor() != null, BookDetailVO_.ID, request.getCursor())
+                .like(StringUtils.hasText(request.getTitle()), BookDetailVO_.TITLE, request.getTitle())
+                .like(StringUtils.hasText(request.getAuthor()), BookDetailVO_.AUTHOR, request.getAuthor())
+                .eq(request.getCategoryId() != null, BookDetailVO_.CATEGORY_ID, request.getCategoryId())
+                .orderByDesc(BookDetailVO_.ID)
+                .limit(request.getLimit());
+    }
+
+}
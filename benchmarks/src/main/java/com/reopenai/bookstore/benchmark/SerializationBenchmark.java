@@ -0,0 +1,149 @@
+package com.reopenai.bookstore.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.reopenai.bookstore.bean.ApiResponse;
+import com.reopenai.bookstore.bean.Money;
+import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.bean.vo.ShoppingCartVO;
+import com.reopenai.bookstore.bean.vo.SimpleBookInfoVO;
+import com.reopenai.bookstore.component.jackson.JacksonConfig;
+import com.reopenai.bookstore.component.jackson.serializer.MoneySerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing listing pages of books and cart items with the registered serializers versus the former ones,
+ * which went through {@code toString()} and {@code atZone} for every value.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar SerializationBenchmark}
+ * <p>
+ * Created by Allen Huang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"lean", "former"})
+    private String serializers;
+
+    @Param({"256"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private ApiResponse<List<BookDetailVO>> books;
+
+    private ApiResponse<List<ShoppingCartVO>> cartItems;
+
+    @Setup
+    public void setup() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().jackson2ObjectMapperBuilderCustomizer().customize(builder);
+        if ("former".equals(serializers)) {
+            builder.serializerByType(Number.class, new FormerNumberSerializer())
+                    .serializerByType(BigDecimal.class, new FormerBigDecimalSerializer())
+                    .serializerByType(LocalDateTime.class, new FormerLocalDateTimeSerializer())
+                    .serializerByType(Money.class, new FormerMoneySerializer());
+        }
+        objectMapper = builder.build();
+
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+        List<BookDetailVO> bookList = new ArrayList<>(size);
+        List<ShoppingCartVO> cartList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long bookId = 100_000L + random.nextLong(1_000_000L);
+            Money price = Money.ofMinorUnits(random.nextLong(1_000, 2_000_000) * 100);
+
+            BookDetailVO book = new BookDetailVO();
+            book.setId(bookId);
+            book.setTitle("The Art of Computer Programming, Volume " + (i + 1));
+            book.setAuthor("Donald E. Knuth");
+            book.setCategoryId(random.nextLong(1, 50));
+            book.setCategoryName("Computer Science");
+            book.setPrice(price);
+            bookList.add(book);
+
+            SimpleBookInfoVO bookInfo = new SimpleBookInfoVO();
+            bookInfo.setId(bookId);
+            bookInfo.setTitle(book.getTitle());
+            bookInfo.setAuthor(book.getAuthor());
+            bookInfo.setPrice(price);
+            ShoppingCartVO cartItem = new ShoppingCartVO();
+            cartItem.setId(1_000_000L + i);
+            cartItem.setBookInfo(bookInfo);
+            cartItem.setQuantity(random.nextInt(1, 10));
+            cartItem.setCreatedTime(now.minusMinutes(random.nextInt(100_000)));
+            cartItem.setUpdatedTime(now.minusMinutes(random.nextInt(1_000)));
+            cartList.add(cartItem);
+        }
+        books = ApiResponse.success(bookList);
+        cartItems = ApiResponse.success(cartList);
+    }
+
+    @Benchmark
+    public byte[] bookPage() throws IOException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] cartPage() throws IOException {
+        return objectMapper.writeValueAsBytes(cartItems);
+    }
+
+    private static class FormerNumberSerializer extends JsonSerializer<Number> {
+
+        @Override
+        public void serialize(Number value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeString(value.toString());
+        }
+
+    }
+
+    private static class FormerBigDecimalSerializer extends JsonSerializer<BigDecimal> {
+
+        @Override
+        public void serialize(BigDecimal value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeString(value.stripTrailingZeros().toPlainString());
+        }
+
+    }
+
+    /**
+     * {@link MoneySerializer} before it formatted into a char buffer
+     */
+    private static class FormerMoneySerializer extends JsonSerializer<Money> {
+
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeString(value.toString());
+        }
+
+    }
+
+    private static class FormerLocalDateTimeSerializer extends JsonSerializer<LocalDateTime> {
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.reopenai.bookstore.benchmark;
+
+import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.component.database.converter.MoneyReadingConverter;
+import com.reopenai.bookstore.component.database.converter.MoneyWritingConverter;
+import com.reopenai.bookstore.repository.impl.BookDetailRepositoryImpl;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code queryBooks} join of {@link BookDetailRepositoryImpl} against an in-memory H2 database, with the SQL
+ * compiled for the shape of the query, versus the first query of a shape, which renders the statement through
+ * the query mapper like every query did before the shapes were compiled. Both run the query, the difference is
+ * the rendering.
+ * <p>
+ * Created by Allen Huang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementRenderBenchmark {
+
+    @Benchmark
+    public List<BookDetailVO> compiled(Database database, QueryBenchmarkState state) {
+        return database.repository.findBookDetails(state.metamodelQuery())
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<BookDetailVO> rendered(FreshRepository fresh, QueryBenchmarkState state) {
+        return fresh.repository.findBookDetails(state.metamodelQuery())
+                .collectList()
+                .block();
+    }
+
+    /**
+     * The database with the schema and the sample data of the application
+     */
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        private ConnectionPool connectionFactory;
+
+        R2dbcEntityTemplate template;
+
+        BookDetailRepositoryImpl repository;
+
+        @Setup
+        public void setup() {
+            connectionFactory = new ConnectionPool(ConnectionPoolConfiguration
+                    .builder(ConnectionFactories.get("r2dbc:h2:mem:///statementrender;DB_CLOSE_DELAY=-1"))
+                    .build());
+            new ResourceDatabasePopulator(new ClassPathResource("ddl/v1.sql"))
+                    .populate(connectionFactory)
+                    .block();
+            R2dbcCustomConversions conversions = R2dbcCustomConversions.of(H2Dialect.INSTANCE,
+                    List.of(new MoneyReadingConverter(), new MoneyWritingConverter()));
+            R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+            mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+            template = new R2dbcEntityTemplate(DatabaseClient.create(connectionFactory), H2Dialect.INSTANCE,
+                    new MappingR2dbcConverter(mappingContext, conversions));
+            repository = new BookDetailRepositoryImpl(template);
+        }
+
+        @TearDown
+        public void tearDown() {
+            connectionFactory.dispose();
+        }
+
+    }
+
+    /**
+     * A repository that has not compiled any shape yet, built outside of the measured call
+     */
+    @State(Scope.Thread)
+    public static class FreshRepository {
+
+        BookDetailRepositoryImpl repository;
+
+        @Setup(Level.Invocation)
+        public void setup(Database database) {
+            repository = new BookDetailRepositoryImpl(database.template);
+        }
+
+    }
+
+}
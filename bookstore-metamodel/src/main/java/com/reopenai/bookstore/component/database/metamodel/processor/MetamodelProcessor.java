@@ -0,0 +1,129 @@
+package com.reopenai.bookstore.component.database.metamodel.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Generates the metamodel classes of the types annotated with
+ * {@link com.reopenai.bookstore.component.database.metamodel.Metamodel}.
+ * <p>
+ * The processor is built in its own module and only put on the annotation processor path of the application,
+ * so it is not part of the application jar. It must not depend on the application, Lombok included.
+ *
+ * @author Allen Huang
+ */
+@SupportedAnnotationTypes(MetamodelProcessor.METAMODEL)
+public class MetamodelProcessor extends AbstractProcessor {
+
+    static final String METAMODEL = "com.reopenai.bookstore.component.database.metamodel.Metamodel";
+
+    private static final String COLUMN = "com.reopenai.bookstore.component.database.condition.Column";
+
+    private static final String TRANSIENT = "org.springframework.data.annotation.Transient";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@Metamodel is only supported on classes", element);
+                    continue;
+                }
+                try {
+                    generate((TypeElement) element);
+                } catch (IOException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to generate metamodel: " + e.getMessage(), element);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String simpleName = type.getSimpleName() + "_";
+        String entity = type.getSimpleName().toString();
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(packageName + "." + simpleName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write("package " + packageName + ";\n\n");
+            writer.write("import " + COLUMN + ";\n\n");
+            writer.write("/**\n * Metamodel of {@link " + entity + "}, generated by " + getClass().getSimpleName() + ".\n */\n");
+            writer.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+            writer.write("public final class " + simpleName + " {\n\n");
+            for (String property : properties(type)) {
+                writer.write("    public static final Column<" + entity + "> " + constantName(property)
+                        + " = new Column<>(\"" + property + "\");\n\n");
+            }
+            writer.write("    private " + simpleName + "() {\n    }\n\n}\n");
+        }
+    }
+
+    /**
+     * Instance fields of the type and its superclasses, superclass fields first
+     */
+    private static List<String> properties(TypeElement type) {
+        List<String> properties = new ArrayList<>();
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement parent = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (!parent.getQualifiedName().contentEquals("java.lang.Object")) {
+                properties.addAll(properties(parent));
+            }
+        }
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.FIELD
+                    && !member.getModifiers().contains(Modifier.STATIC)
+                    && !member.getModifiers().contains(Modifier.TRANSIENT)
+                    && !isTransient(member)) {
+                properties.add(member.getSimpleName().toString());
+            }
+        }
+        return properties;
+    }
+
+    private static boolean isTransient(Element field) {
+        for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(TRANSIENT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * categoryId -> CATEGORY_ID
+     */
+    static String constantName(String property) {
+        StringBuilder builder = new StringBuilder(property.length() + 4);
+        for (int i = 0; i < property.length(); i++) {
+            char c = property.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                builder.append('_');
+            }
+            builder.append(c);
+        }
+        return builder.toString().toUpperCase(Locale.ENGLISH);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.reopenai.bookstore.bean;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point amount of money, held as a number of minor units of 1/10000.
+ * <p>
+ * The scale matches the DECIMAL(19, 4) price columns, so values read from the database convert without
+ * rounding. Arithmetic is exact: overflow throws {@link ArithmeticException} instead of wrapping, and a
+ * {@link BigDecimal} with more than four decimal places is rejected instead of rounded.
+ * <p>
+ * Created by Allen Huang
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * Number of decimal places
+     */
+    public static final int SCALE = 4;
+
+    /**
+     * Minor units per major unit
+     */
+    public static final long MINOR_UNITS = 10_000L;
+
+    /**
+     * Largest amount that can be represented, 922337203685477.5807
+     */
+    public static final String MAX_VALUE = "922337203685477.5807";
+
+    public static final Money ZERO = new Money(0);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * @param minorUnits amount in minor units
+     * @return the money
+     */
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * @param value amount, at most four decimal places
+     * @return the money
+     * @throws ArithmeticException if the value has more than four decimal places or is out of range
+     */
+    public static Money of(BigDecimal value) {
+        return ofMinorUnits(value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money add(Money other) {
+        return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money multiply(int quantity) {
+        return ofMinorUnits(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    /**
+     * @return the amount in plain notation without trailing zeros, e.g. {@code 12.5}
+     */
+    @Override
+    public String toString() {
+        long units = minorUnits / MINOR_UNITS;
+        long fraction = Math.abs(minorUnits % MINOR_UNITS);
+        StringBuilder builder = new StringBuilder(24);
+        if (minorUnits < 0 && units == 0) {
+            builder.append('-');
+        }
+        builder.append(units);
+        if (fraction != 0) {
+            int digits = SCALE;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            builder.append('.');
+            for (long pad = fraction * 10; pad < pow10(digits); pad *= 10) {
+                builder.append('0');
+            }
+            builder.append(fraction);
+        }
+        return builder.toString();
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.reopenai.bookstore.bean.entity;
 
+import com.reopenai.bookstore.component.database.metamodel.Metamodel;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Table;
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
  * Created by Allen Huang
  */
 @Data
+@Metamodel
 @Table
 public class BookCategory {
 
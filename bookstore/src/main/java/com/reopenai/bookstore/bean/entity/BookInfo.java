@@ -1,10 +1,11 @@
 package com.reopenai.bookstore.bean.entity;
 
+import com.reopenai.bookstore.bean.Money;
+import com.reopenai.bookstore.component.database.metamodel.Metamodel;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Table;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -13,6 +14,7 @@ import java.time.LocalDateTime;
  * Created by Allen Huang
  */
 @Data
+@Metamodel
 @Table
 public class BookInfo {
 
@@ -40,7 +42,7 @@ public class BookInfo {
     /**
      * price.
      */
-    private BigDecimal price;
+    private Money price;
 
     /**
      * Creator's ID
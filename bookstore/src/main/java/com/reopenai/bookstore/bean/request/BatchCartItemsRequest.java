@@ -0,0 +1,33 @@
+package com.reopenai.bookstore.bean.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.Hidden;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Created by Allen Huang
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCartItemsRequest {
+
+    @Valid
+    @NotEmpty(message = "operations is required")
+    @Size(max = 200, message = "operations cannot more than 200")
+    @Schema(description = "operations, applied in order", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<CartItemOperation> operations;
+
+    @Hidden
+    @JsonIgnore
+    private Long userId;
+
+}
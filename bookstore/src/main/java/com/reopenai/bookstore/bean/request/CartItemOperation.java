@@ -0,0 +1,51 @@
+package com.reopenai.bookstore.bean.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single change of a batch shopping cart update
+ * <p>
+ * Created by Allen Huang
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemOperation {
+
+    @NotNull(message = "type is required")
+    @Schema(description = "operation type", requiredMode = Schema.RequiredMode.REQUIRED, example = "ADD")
+    private Type type;
+
+    @NotNull(message = "bookId is required")
+    @Min(value = 1, message = "invalid bookId")
+    @Schema(description = "bookId", requiredMode = Schema.RequiredMode.REQUIRED, example = "1")
+    private Long bookId;
+
+    @NotNull(message = "quantity is required")
+    @Min(value = 1, message = "quantity cannot less than 1")
+    @Max(value = 10000, message = "quantity cannot greater than 10000")
+    @Schema(description = "quantity, ignored by REMOVE", defaultValue = "1", minimum = "1", maximum = "10000")
+    private Integer quantity = 1;
+
+    public enum Type {
+        /**
+         * Add the quantity to the item
+         */
+        ADD,
+        /**
+         * Reduce the quantity of the item, the item is removed once nothing is left
+         */
+        REDUCE,
+        /**
+         * Remove the item
+         */
+        REMOVE
+    }
+
+}
@@ -11,10 +11,12 @@ import lombok.Data;
 @Data
 public class QueryBookCategoryRequest {
 
+    public static final int DEFAULT_LIMIT = 50;
+
     @Min(value = 1, message = "The limit cannot less than 1")
     @Max(value = 1024, message = "The limit cannot be greater than 1024")
     @Schema(description = "limit", defaultValue = "50", minimum = "1", maximum = "1024")
-    private int limit = 50;
+    private int limit = DEFAULT_LIMIT;
 
     @Schema(description = "cursor")
     @Min(value = 1, message = "The cursor cannot less than 1")
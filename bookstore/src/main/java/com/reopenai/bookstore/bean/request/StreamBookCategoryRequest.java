@@ -0,0 +1,37 @@
+package com.reopenai.bookstore.bean.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * Query conditions of the streaming category list, it allows a larger limit than {@link QueryBookCategoryRequest}
+ * <p>
+ * Created by Allen Huang
+ */
+@Data
+public class StreamBookCategoryRequest {
+
+    @Min(value = 1, message = "The limit cannot less than 1")
+    @Max(value = 10000, message = "The limit cannot be greater than 10000")
+    @Schema(description = "limit", defaultValue = "1000", minimum = "1", maximum = "10000")
+    private int limit = 1000;
+
+    @Schema(description = "cursor")
+    @Min(value = 1, message = "The cursor cannot less than 1")
+    private Long cursor;
+
+    @Schema(description = "category id")
+    @Min(value = 1, message = "The id cannot less than 1")
+    private Long id;
+
+    public QueryBookCategoryRequest toQueryRequest() {
+        QueryBookCategoryRequest request = new QueryBookCategoryRequest();
+        request.setLimit(limit);
+        request.setCursor(cursor);
+        request.setId(id);
+        return request;
+    }
+
+}
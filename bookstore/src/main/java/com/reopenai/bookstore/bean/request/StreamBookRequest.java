@@ -0,0 +1,53 @@
+package com.reopenai.bookstore.bean.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.hibernate.validator.constraints.Length;
+
+/**
+ * Query conditions of the streaming book list, it allows a larger limit than {@link QueryBookRequest}
+ * <p>
+ * Created by Allen Huang
+ */
+@Data
+public class StreamBookRequest {
+
+    @Min(value = 1, message = "The limit cannot less than 1")
+    @Max(value = 10000, message = "The limit cannot be greater than 10000")
+    @Schema(description = "limit", defaultValue = "1000", minimum = "1", maximum = "10000")
+    private int limit = 1000;
+
+    @Schema(description = "cursor", minimum = "1")
+    @Min(value = 1, message = "The cursor cannot less than 1")
+    private Long cursor;
+
+    @Min(value = 1, message = "invalid categoryId")
+    @Schema(description = "book category id", minimum = "1")
+    private Long categoryId;
+
+    @Schema(description = "book id", minimum = "1")
+    @Min(value = 1, message = "The id cannot less than 1")
+    private Long id;
+
+    @Schema(description = "book title", maxLength = 255)
+    @Length(max = 255, message = "The length of title exceeds the limit")
+    private String title;
+
+    @Schema(description = "book author", maxLength = 255)
+    @Length(max = 255, message = "The length of author exceeds the limit")
+    private String author;
+
+    public QueryBookRequest toQueryRequest() {
+        QueryBookRequest request = new QueryBookRequest();
+        request.setLimit(limit);
+        request.setCursor(cursor);
+        request.setCategoryId(categoryId);
+        request.setId(id);
+        request.setTitle(title);
+        request.setAuthor(author);
+        return request;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.reopenai.bookstore.bean.request;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * Query conditions of the streaming shopping cart, it allows a larger limit than {@link QueryCartItemsRequest}
+ * <p>
+ * Created by Allen Huang
+ */
+@Data
+public class StreamCartItemsRequest {
+
+    @Min(value = 1, message = "The limit cannot less than 1")
+    @Max(value = 10000, message = "The limit cannot be greater than 10000")
+    @Schema(description = "records size", minimum = "1", maximum = "10000", defaultValue = "1000")
+    private int limit = 1000;
+
+    @Schema(description = "cursor", minimum = "1")
+    @Min(value = 1, message = "The cursor cannot less than 1")
+    private Long cursor;
+
+    @Hidden
+    private Long userId;
+
+    public QueryCartItemsRequest toQueryRequest() {
+        QueryCartItemsRequest request = new QueryCartItemsRequest();
+        request.setLimit(limit);
+        request.setCursor(cursor);
+        request.setUserId(userId);
+        return request;
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.reopenai.bookstore.bean.request;
 
+import com.reopenai.bookstore.bean.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -39,6 +40,7 @@ public class UpdateBookRequest {
 
     @NotNull(message = "price is required")
     @DecimalMin(value = "0", message = "price cannot less than 0")
+    @DecimalMax(value = Money.MAX_VALUE, message = "price cannot be greater than " + Money.MAX_VALUE)
     @Digits(integer = 15, fraction = 4, message = "The integer part of the price can have a maximum of 15 digits, and the decimal part is limited to 4 digits")
     @Schema(description = "price", requiredMode = Schema.RequiredMode.REQUIRED, minimum = "0")
     private BigDecimal price;
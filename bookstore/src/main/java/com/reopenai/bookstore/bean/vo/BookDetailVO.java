@@ -1,15 +1,16 @@
 package com.reopenai.bookstore.bean.vo;
 
+import com.reopenai.bookstore.bean.Money;
 import com.reopenai.bookstore.bean.entity.BookInfo;
+import com.reopenai.bookstore.component.database.metamodel.Metamodel;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
-import java.math.BigDecimal;
-
 /**
  * Created by Allen Huang
  */
 @Data
+@Metamodel
 public class BookDetailVO {
 
     @Schema(description = "book id")
@@ -28,7 +29,7 @@ public class BookDetailVO {
     private String author;
 
     @Schema(description = "book price")
-    private BigDecimal price;
+    private Money price;
 
     public static BookDetailVO from(BookInfo bookInfo) {
         BookDetailVO bookDetailVO = new BookDetailVO();
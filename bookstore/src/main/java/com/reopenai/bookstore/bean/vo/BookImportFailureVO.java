@@ -0,0 +1,25 @@
+package com.reopenai.bookstore.bean.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Created by Allen Huang
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportFailureVO {
+
+    @Schema(description = "row number in the request body, starting from 1")
+    private long row;
+
+    @Schema(description = "error code")
+    private String code;
+
+    @Schema(description = "Description of the failure")
+    private String message;
+
+}
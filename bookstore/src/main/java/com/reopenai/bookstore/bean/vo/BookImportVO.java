@@ -0,0 +1,27 @@
+package com.reopenai.bookstore.bean.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by Allen Huang
+ */
+@Data
+public class BookImportVO {
+
+    @Schema(description = "number of rows received")
+    private long total;
+
+    @Schema(description = "number of books imported")
+    private long imported;
+
+    @Schema(description = "number of rows that were not imported")
+    private long failed;
+
+    @Schema(description = "rows that were not imported, only the first 1000 are reported")
+    private List<BookImportFailureVO> failures = new ArrayList<>();
+
+}
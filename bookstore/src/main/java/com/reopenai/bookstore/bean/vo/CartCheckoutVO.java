@@ -1,9 +1,9 @@
 package com.reopenai.bookstore.bean.vo;
 
+import com.reopenai.bookstore.bean.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -16,6 +16,6 @@ public class CartCheckoutVO {
     private List<SimpleCartItemVO> items;
 
     @Schema(description = "Total Price")
-    private BigDecimal totalPrice;
+    private Money totalPrice;
 
 }
@@ -1,11 +1,10 @@
 package com.reopenai.bookstore.bean.vo;
 
+import com.reopenai.bookstore.bean.Money;
 import com.reopenai.bookstore.bean.entity.BookInfo;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
-import java.math.BigDecimal;
-
 /**
  * Created by Allen Huang
  */
@@ -22,7 +21,7 @@ public class SimpleBookInfoVO {
     private String author;
 
     @Schema(description = "current price")
-    private BigDecimal price;
+    private Money price;
 
     public static SimpleBookInfoVO from(BookInfo bookInfo) {
         SimpleBookInfoVO entity = new SimpleBookInfoVO();
@@ -1,10 +1,9 @@
 package com.reopenai.bookstore.bean.vo;
 
+import com.reopenai.bookstore.bean.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
-import java.math.BigDecimal;
-
 /**
  * Created by Allen Huang
  */
@@ -24,9 +23,9 @@ public class SimpleCartItemVO {
     private Integer quantity;
 
     @Schema(description = "price")
-    private BigDecimal price;
+    private Money price;
 
     @Schema(description = "The total price of this book")
-    private BigDecimal totalPrice;
+    private Money totalPrice;
 
 }
@@ -0,0 +1,232 @@
+package com.reopenai.bookstore.component.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reopenai.bookstore.bean.entity.BookCategory;
+import com.reopenai.bookstore.bean.request.QueryBookCategoryRequest;
+import com.reopenai.bookstore.bean.vo.BookCategoryVO;
+import com.reopenai.bookstore.component.jackson.PreEncodedList;
+import com.reopenai.bookstore.repository.BookCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Book category dictionary.
+ * <p>
+ * The category table is small and rarely changes, so it is loaded into memory at startup and kept
+ * up to date by the category service (write-through). Lookups that miss fall back to the database.
+ * <p>
+ * Listings are answered from an id-sorted snapshot of the categories, which is copied and swapped on every change,
+ * readers never lock. The snapshot keeps the first page of the default listing in its JSON form. The categories of
+ * the snapshot are never handed out, every listing returns copies.
+ * <p>
+ * Created by Allen Huang
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOnDatabaseInitialization
+public class BookCategoryCache implements InitializingBean {
+
+    private final BookCategoryRepository bookCategoryRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+    private volatile Snapshot snapshot = new Snapshot(new long[0], new BookCategoryVO[0], List.of());
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    @Override
+    public void afterPropertiesSet() {
+        List<BookCategory> categories = bookCategoryRepository.findAll()
+                .collectList()
+                .block();
+        synchronized (this) {
+            BookCategoryVO[] sorted = new BookCategoryVO[categories.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                BookCategory category = categories.get(i);
+                names.put(category.getId(), category.getName());
+                sorted[i] = BookCategoryVO.from(category);
+            }
+            Arrays.sort(sorted, Comparator.comparing(BookCategoryVO::getId));
+            snapshot = snapshot(sorted);
+        }
+        log.info("[BookCategoryCache]{} categories loaded", names.size());
+    }
+
+    /**
+     * Get the name of the specified category
+     *
+     * @param categoryId category id
+     * @return category name, empty if the category does not exist
+     */
+    public Mono<String> getName(Long categoryId) {
+        String name = names.get(categoryId);
+        if (name != null) {
+            hitCount.increment();
+            return Mono.just(name);
+        }
+        missCount.increment();
+        return bookCategoryRepository.findById(categoryId)
+                .doOnNext(this::put)
+                .map(BookCategory::getName);
+    }
+
+    /**
+     * Get the names of the specified categories. Categories that do not exist are not included in the result.
+     *
+     * @param categoryIds category ids
+     * @return category id to category name
+     */
+    public Mono<Map<Long, String>> getNames(Collection<Long> categoryIds) {
+        Map<Long, String> result = new HashMap<>(categoryIds.size());
+        List<Long> missing = null;
+        for (Long categoryId : categoryIds) {
+            String name = names.get(categoryId);
+            if (name != null) {
+                result.put(categoryId, name);
+            } else {
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                }
+                missing.add(categoryId);
+            }
+        }
+        hitCount.add(result.size());
+        if (missing == null) {
+            return Mono.just(result);
+        }
+        missCount.add(missing.size());
+        return bookCategoryRepository.findAllById(missing)
+                .doOnNext(this::put)
+                .collect(() -> result, (map, entity) -> map.put(entity.getId(), entity.getName()));
+    }
+
+    /**
+     * Put a category into the cache, replacing the previous name if there is one
+     *
+     * @param category category information
+     */
+    public synchronized void put(BookCategory category) {
+        names.put(category.getId(), category.getName());
+        BookCategoryVO[] categories = snapshot.categories();
+        int index = Arrays.binarySearch(snapshot.ids(), category.getId());
+        BookCategoryVO[] copy;
+        if (index >= 0) {
+            copy = categories.clone();
+            copy[index] = BookCategoryVO.from(category);
+        } else {
+            int position = -index - 1;
+            copy = new BookCategoryVO[categories.length + 1];
+            System.arraycopy(categories, 0, copy, 0, position);
+            copy[position] = BookCategoryVO.from(category);
+            System.arraycopy(categories, position, copy, position + 1, categories.length - position);
+        }
+        snapshot = snapshot(copy);
+    }
+
+    /**
+     * List categories newest first, like {@code WHERE id = :id AND id < :cursor ORDER BY id DESC LIMIT :limit}.
+     * The categories are copies owned by the caller.
+     *
+     * @param id     category id, optional
+     * @param cursor exclusive upper bound of the ids, optional
+     * @param limit  max number of categories
+     * @return categories in descending id order
+     */
+    public List<BookCategoryVO> list(Long id, Long cursor, int limit) {
+        Snapshot snapshot = this.snapshot;
+        long[] ids = snapshot.ids();
+        if (id != null) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0 || (cursor != null && id >= cursor) || limit < 1) {
+                return List.of();
+            }
+            return List.of(copy(snapshot.categories()[index]));
+        }
+        if (cursor == null && limit == QueryBookCategoryRequest.DEFAULT_LIMIT) {
+            List<BookCategoryVO> firstPage = snapshot.firstPage();
+            return firstPage instanceof PreEncodedList<BookCategoryVO> encoded
+                    ? encoded.copy(BookCategoryCache::copy)
+                    : copies(firstPage);
+        }
+        int end = ids.length;
+        if (cursor != null) {
+            int index = Arrays.binarySearch(ids, cursor);
+            end = index >= 0 ? index : -index - 1;
+        }
+        return copies(page(snapshot.categories(), end, limit));
+    }
+
+    private Snapshot snapshot(BookCategoryVO[] categories) {
+        long[] ids = new long[categories.length];
+        for (int i = 0; i < categories.length; i++) {
+            ids[i] = categories[i].getId();
+        }
+        List<BookCategoryVO> firstPage = page(categories, categories.length, QueryBookCategoryRequest.DEFAULT_LIMIT);
+        try {
+            firstPage = PreEncodedList.encode(firstPage, objectMapper);
+        } catch (JsonProcessingException e) {
+            log.warn("[BookCategoryCache]Failed to encode the first page, it is serialized per request", e);
+        }
+        return new Snapshot(ids, categories, firstPage);
+    }
+
+    private static List<BookCategoryVO> page(BookCategoryVO[] categories, int end, int limit) {
+        BookCategoryVO[] page = new BookCategoryVO[Math.max(0, Math.min(end, limit))];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = categories[end - 1 - i];
+        }
+        return List.of(page);
+    }
+
+    private static List<BookCategoryVO> copies(List<BookCategoryVO> categories) {
+        BookCategoryVO[] copies = new BookCategoryVO[categories.size()];
+        for (int i = 0; i < copies.length; i++) {
+            copies[i] = copy(categories.get(i));
+        }
+        return List.of(copies);
+    }
+
+    private static BookCategoryVO copy(BookCategoryVO category) {
+        BookCategoryVO copy = new BookCategoryVO();
+        copy.setId(category.getId());
+        copy.setName(category.getName());
+        return copy;
+    }
+
+    /**
+     * @param ids        ascending category ids
+     * @param categories categories in the order of the ids
+     * @param firstPage  newest categories, the default listing
+     */
+    private record Snapshot(long[] ids, BookCategoryVO[] categories, List<BookCategoryVO> firstPage) {
+    }
+
+    /**
+     * @return number of categories resolved from memory
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return number of categories that had to be read from the database
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+}
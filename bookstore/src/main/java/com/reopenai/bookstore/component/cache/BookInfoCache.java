@@ -0,0 +1,137 @@
+package com.reopenai.bookstore.component.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.reopenai.bookstore.bean.entity.BookInfo;
+import com.reopenai.bookstore.repository.BookInfoRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Book information read-through cache.
+ * <p>
+ * Books are read far more often than they change, the cart paths look them up by id on every request.
+ * The cache is bounded by an approximate memory budget and entries expire after a while, so that
+ * changes made outside of this service are picked up eventually. The book service invalidates the
+ * entries it updates.
+ * <p>
+ * A load that read the database before an invalidation must not put the old book back once the invalidation is
+ * done. Every invalidation advances a generation, a load remembers the generation it started in and does not keep
+ * its entry if the generation moved on.
+ * <p>
+ * The cached entities are shared, callers must not modify them.
+ * <p>
+ * Created by Allen Huang
+ */
+@Component
+@EnableConfigurationProperties(BookInfoCacheProperties.class)
+public class BookInfoCache {
+
+    /**
+     * Estimated size of a cached book without its strings: the entity, its boxed fields,
+     * the price and the timestamps, plus the cache entry itself.
+     */
+    private static final int ENTRY_OVERHEAD = 320;
+
+    private final BookInfoRepository bookInfoRepository;
+
+    private final Cache<Long, BookInfo> books;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public BookInfoCache(BookInfoRepository bookInfoRepository, BookInfoCacheProperties properties) {
+        this.bookInfoRepository = bookInfoRepository;
+        this.books = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxMemory().toBytes())
+                .weigher((Long id, BookInfo book) -> weigh(book))
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get the specified book
+     *
+     * @param bookId book id
+     * @return book information, empty if the book does not exist
+     */
+    public Mono<BookInfo> get(Long bookId) {
+        BookInfo book = books.getIfPresent(bookId);
+        if (book != null) {
+            return Mono.just(book);
+        }
+        return Mono.defer(() -> {
+            long loadGeneration = generation.get();
+            return bookInfoRepository.findById(bookId)
+                    .doOnNext(entity -> put(entity, loadGeneration));
+        });
+    }
+
+    /**
+     * Get the specified books. Books that do not exist are not included in the result.
+     *
+     * @param bookIds book ids
+     * @return book id to book information
+     */
+    public Mono<Map<Long, BookInfo>> getAll(Collection<Long> bookIds) {
+        Map<Long, BookInfo> result = new HashMap<>(books.getAllPresent(bookIds));
+        if (result.size() == bookIds.size()) {
+            return Mono.just(result);
+        }
+        List<Long> missing = new ArrayList<>(bookIds.size() - result.size());
+        for (Long bookId : bookIds) {
+            if (!result.containsKey(bookId)) {
+                missing.add(bookId);
+            }
+        }
+        return Mono.defer(() -> {
+            long loadGeneration = generation.get();
+            return bookInfoRepository.findAllById(missing)
+                    .doOnNext(entity -> put(entity, loadGeneration))
+                    .collect(() -> result, (map, entity) -> map.put(entity.getId(), entity));
+        });
+    }
+
+    /**
+     * Drop the specified book from the cache, the next lookup reads it from the database
+     *
+     * @param bookId book id
+     */
+    public void invalidate(Long bookId) {
+        // advanced first, a load that puts its entry after the invalidation below sees the new generation
+        generation.incrementAndGet();
+        books.invalidate(bookId);
+    }
+
+    /**
+     * @return hit, miss and eviction statistics of the cache
+     */
+    public CacheStats stats() {
+        return books.stats();
+    }
+
+    private void put(BookInfo book, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        books.put(book.getId(), book);
+        // an invalidation between the check and the put may have missed the entry
+        if (generation.get() != loadGeneration) {
+            books.asMap().remove(book.getId(), book);
+        }
+    }
+
+    private static int weigh(BookInfo book) {
+        return ENTRY_OVERHEAD + 2 * (length(book.getTitle()) + length(book.getAuthor()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.reopenai.bookstore.component.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Book information cache configuration
+ * <p>
+ * Created by Allen Huang
+ */
+@Data
+@ConfigurationProperties("bookstore.cache.book-info")
+public class BookInfoCacheProperties {
+
+    /**
+     * Approximate memory the cached books may occupy. Least recently used books are evicted beyond it.
+     */
+    private DataSize maxMemory = DataSize.ofMegabytes(16);
+
+    /**
+     * How long a book stays cached after it was loaded
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+}
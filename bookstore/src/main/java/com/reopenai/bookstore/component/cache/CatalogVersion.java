@@ -0,0 +1,127 @@
+package com.reopenai.bookstore.component.cache;
+
+import com.reopenai.bookstore.bean.ApiResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamp of the catalog (books and categories).
+ * <p>
+ * Every committed change to the catalog bumps the version, listings are tagged with a weak ETag made of the
+ * version and an MD5 digest of the response format and the query, so a client polling an unchanged listing is
+ * answered with {@code 304 Not Modified} before the query runs. The version starts from the startup time, tags
+ * handed out by a previous run are never matched.
+ * <p>
+ * Created by Allen Huang
+ */
+@Component
+public class CatalogVersion {
+
+    private static final ResolvableType LISTING_TYPE = ResolvableType.forClass(ApiResponse.class);
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    private final ObjectProvider<ServerCodecConfigurer> codecConfigurer;
+
+    private final ObjectProvider<RequestedContentTypeResolver> contentTypeResolver;
+
+    /**
+     * Concrete media types the listings can be written in, in the order of the writers
+     */
+    private volatile List<MediaType> producibleTypes;
+
+    public CatalogVersion(ObjectProvider<ServerCodecConfigurer> codecConfigurer,
+                          ObjectProvider<RequestedContentTypeResolver> contentTypeResolver) {
+        this.codecConfigurer = codecConfigurer;
+        this.contentTypeResolver = contentTypeResolver;
+    }
+
+    /**
+     * Current version of the catalog
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Marks the catalog as changed, call it once the change has been committed
+     */
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Tags the listing with the current version and answers the conditional request.
+     * The version is read before the listing is queried, a change committed in between only costs the client
+     * one more full response.
+     *
+     * @param exchange current exchange
+     * @param query    normalized query parameters of the listing
+     * @return true if the client's copy is current and the response has been set to 304
+     */
+    public boolean checkNotModified(ServerWebExchange exchange, Object... query) {
+        StringBuilder key = new StringBuilder(64).append(selectMediaType(exchange));
+        for (Object value : query) {
+            // length-prefixed, so that no two queries have the same key
+            String text = String.valueOf(value);
+            key.append('&').append(value == null ? -1 : text.length()).append(':').append(text);
+        }
+        String digest = DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+        String etag = "W/\"" + Long.toHexString(version.get()) + '-' + digest + '"';
+        // the body is negotiated from the Accept header
+        exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return exchange.checkNotModified(etag);
+    }
+
+    /**
+     * The format the listing is written in: the first producible type compatible with the most
+     * preferred accepted type, like the content negotiation of the response.
+     */
+    private MediaType selectMediaType(ServerWebExchange exchange) {
+        List<MediaType> producible = getProducibleTypes();
+        RequestedContentTypeResolver resolver = contentTypeResolver.getIfAvailable();
+        List<MediaType> acceptable = resolver != null ? resolver.resolveMediaTypes(exchange) : List.of(MediaType.ALL);
+        for (MediaType accepted : acceptable) {
+            for (MediaType type : producible) {
+                if (accepted.isCompatibleWith(type)) {
+                    return type;
+                }
+            }
+        }
+        // not acceptable, the response is an error whatever the tag
+        return MediaType.ALL;
+    }
+
+    private List<MediaType> getProducibleTypes() {
+        List<MediaType> types = this.producibleTypes;
+        if (types == null) {
+            types = new ArrayList<>();
+            ServerCodecConfigurer configurer = codecConfigurer.getIfAvailable();
+            if (configurer != null) {
+                for (HttpMessageWriter<?> writer : configurer.getWriters()) {
+                    for (MediaType type : writer.getWritableMediaTypes(LISTING_TYPE)) {
+                        if (type.isConcrete() && writer.canWrite(LISTING_TYPE, type) && !types.contains(type)) {
+                            types.add(type);
+                        }
+                    }
+                }
+            }
+            this.producibleTypes = types = List.copyOf(types);
+        }
+        return types;
+    }
+
+}
@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
@@ -18,6 +19,10 @@ public final class JavaTimeConstants {
      * System default TimeZone
      */
     public static final ZoneOffset SYSTEM_ZONE_OFFSET = OffsetDateTime.now().getOffset();
+    /**
+     * System default zone, resolved once
+     */
+    public static final ZoneId SYSTEM_ZONE_ID = ZoneId.systemDefault();
     /**
      * Date format pattern
      */
@@ -0,0 +1,87 @@
+package com.reopenai.bookstore.component.database;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Option;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+/**
+ * The connection pool, built from {@code spring.r2dbc} like the one of Spring Boot, with a bounded
+ * queue of pending acquires ({@code bookstore.r2dbc.pool.max-pending-acquire}), which Spring Boot
+ * does not expose.
+ * <p>
+ * With {@code bookstore.r2dbc.read.enabled} a second pool serves the reads outside of transactions, the
+ * {@link ReadWriteRoutingConnectionFactory} in front of both pools is the connection factory of the application.
+ *
+ * @author Allen Huang
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({ConnectionPoolProperties.class, ReadConnectionProperties.class})
+@ConditionalOnProperty(prefix = "spring.r2dbc.pool", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionPoolConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(R2dbcProperties properties, ConnectionPoolProperties poolProperties) {
+        return createPool(properties, properties.getUrl(), properties.getUsername(), properties.getPassword(),
+                properties.getPool(), poolProperties.getMaxPendingAcquire());
+    }
+
+    /**
+     * The read pool, a separate pool so that a burst of reads never takes the connections of the writes
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(prefix = "bookstore.r2dbc.read", name = "enabled", havingValue = "true")
+    public ConnectionPool readConnectionFactory(R2dbcProperties properties, ReadConnectionProperties readProperties) {
+        String url = StringUtils.hasText(readProperties.getUrl()) ? readProperties.getUrl() : properties.getUrl();
+        String username = readProperties.getUsername() != null ? readProperties.getUsername() : properties.getUsername();
+        String password = readProperties.getPassword() != null ? readProperties.getPassword() : properties.getPassword();
+        return createPool(properties, url, username, password, readProperties.getPool(), readProperties.getMaxPendingAcquire());
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "bookstore.r2dbc.read", name = "enabled", havingValue = "true")
+    public ReadWriteRoutingConnectionFactory routingConnectionFactory(@Qualifier("connectionFactory") ConnectionFactory primary,
+                                                                      @Qualifier("readConnectionFactory") ConnectionFactory read) {
+        return new ReadWriteRoutingConnectionFactory(primary, read);
+    }
+
+    private static ConnectionPool createPool(R2dbcProperties properties, String url, String username, String password,
+                                             R2dbcProperties.Pool pool, int maxPendingAcquire) {
+        ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(url)
+                .configure(options -> properties.getProperties().forEach((key, value) -> options.option(Option.valueOf(key), value)));
+        if (StringUtils.hasText(username)) {
+            builder.username(username);
+        }
+        if (StringUtils.hasText(password)) {
+            builder.password(password);
+        }
+        ConnectionFactory connectionFactory = builder.build();
+
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        ConnectionPoolConfiguration.Builder poolBuilder = ConnectionPoolConfiguration.builder(connectionFactory);
+        map.from(pool.getMaxIdleTime()).to(poolBuilder::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(poolBuilder::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(poolBuilder::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(poolBuilder::maxCreateConnectionTime);
+        map.from(pool.getMaxValidationTime()).to(poolBuilder::maxValidationTime);
+        map.from(pool.getInitialSize()).to(poolBuilder::initialSize);
+        map.from(pool.getMaxSize()).to(poolBuilder::maxSize);
+        map.from(pool.getMinIdle()).to(poolBuilder::minIdle);
+        map.from(pool.getValidationQuery()).whenHasText().to(poolBuilder::validationQuery);
+        map.from(pool.getValidationDepth()).to(poolBuilder::validationDepth);
+        poolBuilder.customizer(reactorPool -> reactorPool.maxPendingAcquire(maxPendingAcquire));
+        return new ConnectionPool(poolBuilder.build());
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.reopenai.bookstore.component.database;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Connection pool settings that are not covered by {@code spring.r2dbc.pool}
+ * <p>
+ * Created by Allen Huang
+ */
+@Data
+@ConfigurationProperties("bookstore.r2dbc.pool")
+public class ConnectionPoolProperties {
+
+    /**
+     * Maximum number of requests waiting for a connection. Requests beyond it fail immediately
+     * instead of queueing, together with {@code spring.r2dbc.pool.max-acquire-time} this bounds the
+     * time a request can wait for a connection.
+     */
+    private int maxPendingAcquire = 64;
+
+}
@@ -0,0 +1,61 @@
+package com.reopenai.bookstore.component.database;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Marks reads that may be served by the read pool. The mark is carried by the Reactor context, every
+ * connection acquired by the publisher goes to the read pool unless it belongs to a transaction.
+ * <p>
+ * Only mark reads that tolerate the replication lag of the replica.
+ *
+ * @author Allen Huang
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConnectionRouting {
+
+    private static final String READ_KEY = ConnectionRouting.class.getName() + ".READ";
+
+    /**
+     * Route the connections of the publisher to the read pool
+     *
+     * @param publisher the read
+     * @return the read, routed to the read pool
+     */
+    public static <T> Mono<T> read(Mono<T> publisher) {
+        return publisher.contextWrite(context -> context.put(READ_KEY, Boolean.TRUE));
+    }
+
+    /**
+     * Route the connections of the publisher to the read pool
+     *
+     * @param publisher the read
+     * @return the read, routed to the read pool
+     */
+    public static <T> Flux<T> read(Flux<T> publisher) {
+        return publisher.contextWrite(context -> context.put(READ_KEY, Boolean.TRUE));
+    }
+
+    /**
+     * Route the connections of the publisher to the primary, even inside a marked read. For writes that
+     * run without a transaction.
+     *
+     * @param publisher the write
+     * @return the write, routed to the primary
+     */
+    public static <T> Mono<T> primary(Mono<T> publisher) {
+        return publisher.contextWrite(context -> context.delete(READ_KEY));
+    }
+
+    /**
+     * @param context the Reactor context
+     * @return whether the context is marked as a read
+     */
+    public static boolean isRead(ContextView context) {
+        return context.hasKey(READ_KEY);
+    }
+
+}
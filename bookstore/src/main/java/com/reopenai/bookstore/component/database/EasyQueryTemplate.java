@@ -0,0 +1,42 @@
+package com.reopenai.bookstore.component.database;
+
+import com.reopenai.bookstore.component.database.condition.CompiledSelect;
+import com.reopenai.bookstore.component.database.condition.EasyQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Executes {@link EasyQuery} selects through a {@link CompiledSelect} per entity class.
+ * <p>
+ * The rows are read by the converter of the {@link R2dbcEntityTemplate}, but unlike
+ * {@link R2dbcEntityTemplate#select(org.springframework.data.relational.core.query.Query, Class)} the entity
+ * callbacks ({@code AfterConvertCallback}) are not invoked. Use the entity template for entities that rely on them.
+ *
+ * @author Allen Huang
+ */
+@Component
+@RequiredArgsConstructor
+public class EasyQueryTemplate {
+
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    private final Map<Class<?>, CompiledSelect> selects = new ConcurrentHashMap<>();
+
+    /**
+     * Select the entities that match the query
+     *
+     * @param query       query conditions, sort and limit
+     * @param entityClass entity class
+     * @return entities
+     */
+    public <T> Flux<T> select(EasyQuery<?, T> query, Class<T> entityClass) {
+        return selects.computeIfAbsent(entityClass, type -> new CompiledSelect(r2dbcEntityTemplate, type))
+                .select(query, (row, metadata) -> r2dbcEntityTemplate.getConverter().read(entityClass, row, metadata));
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.reopenai.bookstore.component.database;
+
+import com.reopenai.bookstore.component.database.converter.MoneyReadingConverter;
+import com.reopenai.bookstore.component.database.converter.MoneyWritingConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+
+/**
+ * R2DBC config
+ *
+ * @author Allen Huang
+ */
+@Configuration
+public class R2dbcConfig {
+
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(DatabaseClient databaseClient) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(databaseClient.getConnectionFactory()),
+                List.of(new MoneyReadingConverter(), new MoneyWritingConverter()));
+    }
+
+}
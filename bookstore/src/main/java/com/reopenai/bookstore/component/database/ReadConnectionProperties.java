@@ -0,0 +1,49 @@
+package com.reopenai.bookstore.component.database;
+
+import lombok.Data;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+/**
+ * The read pool, which serves the reads outside of transactions. Without a url it connects to the primary
+ * database, the reads still get their own connections.
+ * <p>
+ * Created by Allen Huang
+ */
+@Data
+@ConfigurationProperties("bookstore.r2dbc.read")
+public class ReadConnectionProperties {
+
+    /**
+     * Whether the reads are routed to the read pool
+     */
+    private boolean enabled;
+
+    /**
+     * R2DBC url of the read replica, {@code spring.r2dbc.url} if not set
+     */
+    private String url;
+
+    /**
+     * Login username of the read replica, {@code spring.r2dbc.username} if not set
+     */
+    private String username;
+
+    /**
+     * Login password of the read replica, {@code spring.r2dbc.password} if not set
+     */
+    private String password;
+
+    /**
+     * Read pool settings, the same as {@code spring.r2dbc.pool}
+     */
+    @NestedConfigurationProperty
+    private final R2dbcProperties.Pool pool = new R2dbcProperties.Pool();
+
+    /**
+     * Maximum number of reads waiting for a connection
+     */
+    private int maxPendingAcquire = 64;
+
+}
@@ -0,0 +1,45 @@
+package com.reopenai.bookstore.component.database;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Routes the reads marked by {@link ConnectionRouting#read(Mono)} to the read pool and everything else to the
+ * primary. Transactions always run on the primary, even inside a marked read.
+ * <p>
+ * Created by Allen Huang
+ */
+public class ReadWriteRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String READ = "read";
+
+    private static final Mono<Object> PRIMARY_KEY = Mono.just(PRIMARY);
+
+    private static final Mono<Object> READ_KEY = Mono.just(READ);
+
+    public ReadWriteRoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory read) {
+        setTargetConnectionFactories(Map.of(PRIMARY, primary, READ, read));
+        setDefaultTargetConnectionFactory(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> {
+            if (!ConnectionRouting.isRead(context)) {
+                return PRIMARY_KEY;
+            }
+            return TransactionSynchronizationManager.forCurrentTransaction()
+                    .then(PRIMARY_KEY)
+                    .onErrorResume(NoTransactionException.class, e -> READ_KEY);
+        });
+    }
+
+}
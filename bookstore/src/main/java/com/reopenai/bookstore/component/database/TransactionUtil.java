@@ -0,0 +1,43 @@
+package com.reopenai.bookstore.component.database;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive transaction utils
+ *
+ * @author Allen Huang
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TransactionUtil {
+
+    /**
+     * Run the action once the current transaction has been committed. If there is no active transaction,
+     * the action is run immediately. Use it to publish changes to in-memory state, so that a rollback
+     * never leaves the memory ahead of the database.
+     *
+     * @param action the action to run
+     * @return completes once the action has been run or registered
+     */
+    public static Mono<Void> afterCommit(Runnable action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(manager -> {
+                    if (!manager.isSynchronizationActive()) {
+                        return Mono.<Void>fromRunnable(action);
+                    }
+                    manager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(action);
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, e -> Mono.fromRunnable(action));
+    }
+
+}
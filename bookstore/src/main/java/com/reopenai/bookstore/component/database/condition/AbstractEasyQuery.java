@@ -0,0 +1,308 @@
+package com.reopenai.bookstore.component.database.condition;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+
+/**
+ * The conditions are recorded as they are added and only turned into a {@link Criteria} when
+ * {@link #asCriteria()} is called, so a query executed through a {@link CompiledSelect} never
+ * builds one once the SQL of its shape is cached.
+ * <p>
+ * Created by Allen Huang
+ */
+@SuppressWarnings("all")
+public abstract class AbstractEasyQuery<T, CHILDREN extends EasyQuery<CHILDREN, T>> implements EasyQuery<CHILDREN, T> {
+
+    protected List<Predicate> predicates = new ArrayList<>();
+
+    protected List<Object> parameters = new ArrayList<>();
+
+    protected StringBuilder shape = new StringBuilder();
+
+    protected List<String> selectColumns = new ArrayList<>();
+
+    protected List<Sort.Order> orders = new ArrayList<>();
+
+    protected int limit;
+
+    @Override
+    public CHILDREN select(String... columns) {
+        for (String column : columns) {
+            selectColumns.add(column);
+        }
+        return (CHILDREN) this;
+    }
+
+    @Override
+    public CHILDREN eq(String column, Object value) {
+        return add(column, Operator.EQ, value);
+    }
+
+    @Override
+    public CHILDREN not(String column, Object value) {
+        return add(column, Operator.NOT, value);
+    }
+
+    @Override
+    public CHILDREN in(String column, Object... values) {
+        if (values.length == 1 && values[0] instanceof Collection<?> collection) {
+            return in(column, collection);
+        }
+        return in(column, Arrays.asList(values));
+    }
+
+    @Override
+    public CHILDREN in(String column, Collection<?> values) {
+        return add(column, Operator.IN, padded(values));
+    }
+
+    @Override
+    public CHILDREN notIn(String column, Object... values) {
+        if (values.length == 1 && values[0] instanceof Collection<?> collection) {
+            return notIn(column, collection);
+        }
+        return notIn(column, Arrays.asList(values));
+    }
+
+    @Override
+    public CHILDREN notIn(String column, Collection<?> values) {
+        return add(column, Operator.NOT_IN, padded(values));
+    }
+
+    @Override
+    public CHILDREN between(String column, Object begin, Object end) {
+        return add(column, Operator.BETWEEN, begin, end);
+    }
+
+    @Override
+    public CHILDREN notBetween(String column, Object begin, Object end) {
+        return add(column, Operator.NOT_BETWEEN, begin, end);
+    }
+
+    @Override
+    public CHILDREN lt(String column, Object value) {
+        return add(column, Operator.LT, value);
+    }
+
+    @Override
+    public CHILDREN le(String column, Object value) {
+        return add(column, Operator.LE, value);
+    }
+
+    @Override
+    public CHILDREN gt(String column, Object value) {
+        return add(column, Operator.GT, value);
+    }
+
+    @Override
+    public CHILDREN ge(String column, Object value) {
+        return add(column, Operator.GE, value);
+    }
+
+    @Override
+    public CHILDREN like(String column, Object value) {
+        return add(column, Operator.LIKE, "%" + value + "%");
+    }
+
+    @Override
+    public CHILDREN notLike(String column, Object value) {
+        return add(column, Operator.NOT_LIKE, value);
+    }
+
+    @Override
+    public CHILDREN isNull(String column) {
+        return add(column, Operator.IS_NULL);
+    }
+
+    @Override
+    public CHILDREN isNotNull(String column) {
+        return add(column, Operator.IS_NOT_NULL);
+    }
+
+    @Override
+    public CHILDREN isTrue(String column) {
+        return add(column, Operator.IS_TRUE);
+    }
+
+    @Override
+    public CHILDREN isFalse(String column) {
+        return add(column, Operator.IS_FALSE);
+    }
+
+    @Override
+    public CHILDREN and(Function<CHILDREN, CHILDREN> func) {
+        return nest(false, func);
+    }
+
+    @Override
+    public CHILDREN or(Function<CHILDREN, CHILDREN> func) {
+        return nest(true, func);
+    }
+
+    @Override
+    public CHILDREN orderByAsc(String column) {
+        this.orders.add(Sort.Order.asc(column));
+        return (CHILDREN) this;
+    }
+
+    @Override
+    public CHILDREN orderByAsc(List<String> columns) {
+        for (String column : columns) {
+            this.orders.add(Sort.Order.asc(column));
+        }
+        return (CHILDREN) this;
+    }
+
+    @Override
+    public CHILDREN orderByDesc(String column) {
+        this.orders.add(Sort.Order.desc(column));
+        return (CHILDREN) this;
+    }
+
+    @Override
+    public CHILDREN orderByDesc(List<String> columns) {
+        for (String column : columns) {
+            this.orders.add(Sort.Order.desc(column));
+        }
+        return (CHILDREN) this;
+    }
+
+    @Override
+    public CHILDREN limit(int limit) {
+        this.limit = limit;
+        return (CHILDREN) this;
+    }
+
+    @Override
+    public Criteria asCriteria() {
+        Criteria criteria = Criteria.empty();
+        for (Predicate predicate : predicates) {
+            Criteria condition = predicate.toCriteria();
+            criteria = predicate.or() ? criteria.or(condition) : criteria.and(condition);
+        }
+        return criteria;
+    }
+
+    @Override
+    public Query asQuery() {
+        Query query = Query.query(asCriteria());
+        if (this.orders.size() > 0) {
+            query = query.sort(Sort.by(this.orders));
+        }
+        if (this.selectColumns.size() > 0) {
+            query = query.columns(this.selectColumns);
+        }
+        if (this.limit > 0) {
+            query = query.limit(this.limit);
+        }
+        return query;
+    }
+
+    @Override
+    public String getShape() {
+        StringBuilder builder = new StringBuilder(shape.length() + 64).append(shape);
+        if (this.selectColumns.size() > 0) {
+            builder.append(" SELECT ").append(this.selectColumns);
+        }
+        if (this.orders.size() > 0) {
+            builder.append(" ORDER BY ").append(this.orders);
+        }
+        if (this.limit > 0) {
+            builder.append(" LIMIT");
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    private CHILDREN add(String column, Operator operator, Object... values) {
+        predicates.add(new Predicate(false, column, operator, values, null));
+        shape.append(" AND ").append(column).append(' ').append(operator);
+        if (operator == Operator.IN || operator == Operator.NOT_IN) {
+            List<?> list = (List<?>) values[0];
+            shape.append(list.size());
+            parameters.addAll(list);
+        } else {
+            for (Object value : values) {
+                parameters.add(value);
+            }
+        }
+        return (CHILDREN) this;
+    }
+
+    private CHILDREN nest(boolean or, Function<CHILDREN, CHILDREN> func) {
+        AbstractEasyQuery<T, CHILDREN> nested = (AbstractEasyQuery<T, CHILDREN>) func.apply(newInstance());
+        predicates.add(new Predicate(or, null, null, null, nested));
+        shape.append(or ? " OR (" : " AND (").append(nested.shape).append(')');
+        parameters.addAll(nested.parameters);
+        return (CHILDREN) this;
+    }
+
+    /**
+     * Pads the values of an IN list to the next power of two by repeating the last value,
+     * so lists of different sizes share a few SQL shapes.
+     */
+    private static List<Object> padded(Collection<?> values) {
+        int size = values.size();
+        int paddedSize = size < 2 ? size : Integer.highestOneBit(size - 1) << 1;
+        List<Object> list = new ArrayList<>(paddedSize);
+        list.addAll(values);
+        while (list.size() < paddedSize) {
+            list.add(list.get(size - 1));
+        }
+        return list;
+    }
+
+    abstract CHILDREN newInstance();
+
+    protected enum Operator {
+        EQ, NOT, IN, NOT_IN, BETWEEN, NOT_BETWEEN, LT, LE, GT, GE, LIKE, NOT_LIKE, IS_NULL, IS_NOT_NULL, IS_TRUE, IS_FALSE
+    }
+
+    protected record Predicate(boolean or, String column, Operator operator, Object[] values, AbstractEasyQuery<?, ?> nested) {
+
+        Criteria toCriteria() {
+            if (nested != null) {
+                return nested.asCriteria();
+            }
+            Criteria.CriteriaStep step = where(column);
+            return switch (operator) {
+                case EQ -> step.is(values[0]);
+                case NOT -> step.not(values[0]);
+                case IN -> step.in((Collection<?>) values[0]);
+                case NOT_IN -> step.notIn((Collection<?>) values[0]);
+                case BETWEEN -> step.between(values[0], values[1]);
+                case NOT_BETWEEN -> step.notBetween(values[0], values[1]);
+                case LT -> step.lessThan(values[0]);
+                case LE -> step.lessThanOrEquals(values[0]);
+                case GT -> step.greaterThan(values[0]);
+                case GE -> step.greaterThanOrEquals(values[0]);
+                case LIKE -> step.like(values[0]);
+                case NOT_LIKE -> step.notLike(values[0]);
+                case IS_NULL -> step.isNull();
+                case IS_NOT_NULL -> step.isNotNull();
+                case IS_TRUE -> step.isTrue();
+                case IS_FALSE -> step.isFalse();
+            };
+        }
+
+    }
+
+}
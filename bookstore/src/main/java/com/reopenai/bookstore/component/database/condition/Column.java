@@ -0,0 +1,31 @@
+package com.reopenai.bookstore.component.database.condition;
+
+/**
+ * A column of the entity {@code T}. Instances are generated as static constants of the metamodel
+ * classes, e.g. {@code BookInfo_.TITLE}.
+ * <p>
+ * Created by Allen Huang
+ *
+ * @see com.reopenai.bookstore.component.database.metamodel.Metamodel
+ */
+public final class Column<T> {
+
+    private final String name;
+
+    public Column(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return property name of the column
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
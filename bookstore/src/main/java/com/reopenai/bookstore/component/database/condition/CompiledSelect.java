@@ -0,0 +1,214 @@
+package com.reopenai.bookstore.component.database.condition;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.data.r2dbc.query.BoundCondition;
+import org.springframework.data.r2dbc.query.QueryMapper;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+import org.springframework.data.relational.core.query.CriteriaDefinition;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.sql.*;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.lang.Nullable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.Bindings;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * A select statement over the table of an entity, compiled once per {@link EasyQuery#getShape() query shape}.
+ * <p>
+ * The first query of a shape is rendered through the Spring Data query mapper, later queries of the same
+ * shape reuse the SQL and bind their parameters directly, no {@code Criteria} is built or rendered for them.
+ * Null parameters of a compiled shape are bound as SQL {@code NULL}.
+ * <p>
+ * Created by Allen Huang
+ */
+@Slf4j
+public class CompiledSelect {
+
+    /**
+     * Upper bound of the cached shapes, the least used shapes are evicted beyond it and rendered again when queried
+     */
+    private static final int MAX_TEMPLATES = 1024;
+
+    private final DatabaseClient databaseClient;
+
+    private final R2dbcDialect dialect;
+
+    private final R2dbcConverter converter;
+
+    private final QueryMapper queryMapper;
+
+    private final SqlRenderer sqlRenderer;
+
+    private final RelationalPersistentEntity<?> entity;
+
+    private final Table table;
+
+    private final SelectFactory selectFactory;
+
+    private final Cache<String, SqlTemplate> templates = Caffeine.newBuilder()
+            .maximumSize(MAX_TEMPLATES)
+            .build();
+
+    /**
+     * Select the columns of the entity table
+     *
+     * @param template    entity template
+     * @param entityClass entity class, the conditions refer to its properties
+     */
+    public CompiledSelect(R2dbcEntityTemplate template, Class<?> entityClass) {
+        this(template, entityClass, CompiledSelect::selectFrom);
+    }
+
+    /**
+     * @param template      entity template
+     * @param entityClass   entity class, the conditions refer to its properties
+     * @param selectFactory builds the statement around the mapped conditions and sort
+     */
+    public CompiledSelect(R2dbcEntityTemplate template, Class<?> entityClass, SelectFactory selectFactory) {
+        this.databaseClient = template.getDatabaseClient();
+        this.dialect = DialectResolver.getDialect(databaseClient.getConnectionFactory());
+        this.converter = template.getConverter();
+        this.queryMapper = new QueryMapper(dialect, converter);
+        this.sqlRenderer = SqlRenderer.create(new RenderContextFactory(dialect).createRenderContext());
+        this.entity = converter.getMappingContext().getRequiredPersistentEntity(entityClass);
+        this.table = Table.create(entity.getQualifiedTableName());
+        this.selectFactory = selectFactory;
+    }
+
+    /**
+     * Execute the query
+     *
+     * @param query  query conditions, sort and limit
+     * @param mapper row mapper
+     * @return mapped rows
+     */
+    public <R> Flux<R> select(EasyQuery<?, ?> query, BiFunction<Row, RowMetadata, R> mapper) {
+        SqlTemplate template = getTemplate(query);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(template.sql());
+        List<Object> parameters = query.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            Class<?> type = template.parameterTypes()[i];
+            Object value = write(parameters.get(i), type);
+            spec = value == null ? spec.bindNull(i, type) : spec.bind(i, value);
+        }
+        if (query.getLimit() > 0) {
+            spec = spec.bind(parameters.size(), query.getLimit());
+        }
+        return spec.map(mapper).all();
+    }
+
+    /**
+     * @return number of cached shapes
+     */
+    public long size() {
+        return templates.estimatedSize();
+    }
+
+    private SqlTemplate getTemplate(EasyQuery<?, ?> query) {
+        return templates.get(query.getShape(), shape -> compile(shape, query));
+    }
+
+    private SqlTemplate compile(String shape, EasyQuery<?, ?> easyQuery) {
+        Query query = easyQuery.asQuery();
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        Condition condition = null;
+        Bindings bindings = Bindings.empty();
+        CriteriaDefinition criteria = query.getCriteria().orElse(null);
+        if (criteria != null && !criteria.isEmpty()) {
+            BoundCondition boundCondition = queryMapper.getMappedObject(bindMarkers, criteria, table, entity);
+            condition = boundCondition.getCondition();
+            bindings = boundCondition.getBindings();
+        }
+        List<OrderByField> orderBy = query.getSort().isSorted()
+                ? queryMapper.getMappedSort(table, query.getSort(), entity)
+                : List.of();
+        List<Expression> columns = new ArrayList<>(query.getColumns().size());
+        for (SqlIdentifier column : query.getColumns()) {
+            RelationalPersistentProperty property = entity.getPersistentProperty(column.getReference());
+            columns.add(table.column(property == null ? column : property.getColumnName()));
+        }
+        String sql = sqlRenderer.render(selectFactory.create(table, columns, condition, orderBy));
+        if (easyQuery.getLimit() > 0) {
+            sql = sql + " LIMIT " + bindMarkers.next().getPlaceholder();
+        }
+
+        // the parameters are bound by position, they must line up with the markers of the rendered conditions
+        List<Object> parameters = easyQuery.getParameters();
+        Class<?>[] parameterTypes = new Class<?>[parameters.size()];
+        int index = 0;
+        for (Bindings.Binding binding : bindings) {
+            if (index == parameterTypes.length || !binding.hasValue()) {
+                throw new IllegalStateException("The parameters of [" + shape + "] do not match: " + sql);
+            }
+            Object value = binding.getValue();
+            if (!Objects.equals(value, write(parameters.get(index), value.getClass()))) {
+                throw new IllegalStateException("The parameters of [" + shape + "] do not match: " + sql);
+            }
+            parameterTypes[index++] = value.getClass();
+        }
+        if (index != parameterTypes.length) {
+            throw new IllegalStateException("The parameters of [" + shape + "] do not match: " + sql);
+        }
+        log.debug("[CompiledSelect]{} compiled to {}", shape, sql);
+        return new SqlTemplate(sql, parameterTypes);
+    }
+
+    private Object write(Object value, Class<?> type) {
+        Object converted = converter.writeValue(value, TypeInformation.OBJECT);
+        if (converted != null && !type.isInstance(converted)) {
+            converted = converter.getConversionService().convert(converted, type);
+        }
+        return converted;
+    }
+
+    private static Select selectFrom(Table table, List<Expression> columns, @Nullable Condition condition, List<OrderByField> orderBy) {
+        SelectBuilder.SelectFromAndJoin builder = StatementBuilder.select(columns.isEmpty() ? List.of(table.asterisk()) : columns)
+                .from(table);
+        if (condition != null) {
+            builder.where(condition);
+        }
+        if (!orderBy.isEmpty()) {
+            builder.orderBy(orderBy);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds the statement of a shape
+     */
+    @FunctionalInterface
+    public interface SelectFactory {
+
+        /**
+         * @param table     entity table
+         * @param columns   selected columns, empty if the query does not select any
+         * @param condition mapped conditions, null if there are none
+         * @param orderBy   mapped sort
+         * @return select statement without limit
+         */
+        Select create(Table table, List<Expression> columns, @Nullable Condition condition, List<OrderByField> orderBy);
+
+    }
+
+    private record SqlTemplate(String sql, Class<?>[] parameterTypes) {
+    }
+
+}
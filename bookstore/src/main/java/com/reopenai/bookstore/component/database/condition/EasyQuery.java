@@ -381,8 +381,34 @@ public interface EasyQuery<CHILDREN, T> {
      */
     CHILDREN orderByDesc(List<String> columns);
 
+    /**
+     * Limit the number of rows, 0 means unlimited
+     *
+     * @param limit maximum number of rows
+     * @return CHILDREN
+     */
+    CHILDREN limit(int limit);
+
     Criteria asCriteria();
 
     Query asQuery();
 
+    /**
+     * The shape of the query: columns, operators, size of the IN lists, sort and whether there is a limit.
+     * Queries of the same shape render to the same SQL and differ only in their parameters.
+     *
+     * @return shape of the query
+     */
+    String getShape();
+
+    /**
+     * @return values bound by the conditions, in the order they were added
+     */
+    List<Object> getParameters();
+
+    /**
+     * @return maximum number of rows, 0 means unlimited
+     */
+    int getLimit();
+
 }
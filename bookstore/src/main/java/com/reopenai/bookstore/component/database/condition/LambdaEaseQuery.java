@@ -7,6 +7,10 @@ import org.springframework.data.relational.core.query.Criteria;
 import java.util.Collection;
 
 /**
+ * Query conditions built from getter references ({@code BookInfo::getTitle}) or from the
+ * generated metamodel constants ({@code BookInfo_.TITLE}). The constants are plain strings and
+ * need no reflection, getter references are resolved through {@link XLambdaUtil}.
+ * <p>
  * Created by Allen Huang
  */
 public class LambdaEaseQuery<T> extends AbstractEasyQuery<T, LambdaEaseQuery<T>> {
@@ -375,6 +379,370 @@ public class LambdaEaseQuery<T> extends AbstractEasyQuery<T, LambdaEaseQuery<T>>
         return orderByDesc(s);
     }
 
+    /**
+     * Creates a {@link Criteria} using equality.
+     *
+     * @param value must not be {@literal null}.
+     */
+    public LambdaEaseQuery<T> eq(Column<T> column, Object value) {
+        String s = column.getName();
+        return eq(s, value);
+    }
+
+    public LambdaEaseQuery<T> eq(boolean condition, Column<T> column, Object value) {
+        if (condition) {
+            return eq(column, value);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using equality (is not).
+     *
+     * @param value must not be {@literal null}.
+     */
+    public LambdaEaseQuery<T> not(Column<T> column, Object value) {
+        String s = column.getName();
+        return not(s, value);
+    }
+
+    public LambdaEaseQuery<T> not(boolean condition, Column<T> column, Object value) {
+        if (condition) {
+            return not(column, value);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using {@code IN}.
+     *
+     * @param values must not be {@literal null}.
+     */
+    public LambdaEaseQuery<T> in(Column<T> column, Object... values) {
+        String s = column.getName();
+        return in(s, values);
+    }
+
+    public LambdaEaseQuery<T> in(boolean condition, Column<T> column, Object... values) {
+        if (condition) {
+            return in(column, values);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using {@code IN}.
+     *
+     * @param values must not be {@literal null}.
+     */
+    public LambdaEaseQuery<T> in(Column<T> column, Collection<?> values) {
+        String s = column.getName();
+        return in(s, values);
+    }
+
+    public LambdaEaseQuery<T> in(boolean condition, Column<T> column, Collection<?> values) {
+        if (condition) {
+            return in(column, values);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using {@code NOT IN}.
+     *
+     * @param values must not be {@literal null}.
+     */
+    public LambdaEaseQuery<T> notIn(Column<T> column, Object... values) {
+        String s = column.getName();
+        return notIn(s, values);
+    }
+
+    public LambdaEaseQuery<T> notIn(boolean condition, Column<T> column, Object... values) {
+        if (condition) {
+            return notIn(column, values);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using {@code NOT IN}.
+     *
+     * @param values must not be {@literal null}.
+     */
+    public LambdaEaseQuery<T> notIn(Column<T> column, Collection<?> values) {
+        String s = column.getName();
+        return notIn(s, values);
+    }
+
+    public LambdaEaseQuery<T> notIn(boolean condition, Column<T> column, Collection<?> values) {
+        if (condition) {
+            return notIn(column, values);
+        }
+        return this;
+    }
+
+
+    /**
+     * Creates a {@link Criteria} using between ({@literal BETWEEN begin AND end}).
+     *
+     * @param begin must not be {@literal null}.
+     * @param end   must not be {@literal null}.
+     * @since 2.2
+     */
+    public LambdaEaseQuery<T> between(Column<T> column, Object begin, Object end) {
+        String s = column.getName();
+        return between(s, begin, end);
+    }
+
+    public LambdaEaseQuery<T> between(boolean condition, Column<T> column, Object begin, Object end) {
+        if (condition) {
+            return between(column, begin, end);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using not between ({@literal NOT BETWEEN begin AND end}).
+     *
+     * @param begin must not be {@literal null}.
+     * @param end   must not be {@literal null}.
+     * @since 2.2
+     */
+    public LambdaEaseQuery<T> notBetween(Column<T> column, Object begin, Object end) {
+        String s = column.getName();
+        return notBetween(s, begin, end);
+    }
+
+    public LambdaEaseQuery<T> notBetween(boolean condition, Column<T> column, Object begin, Object end) {
+        if (condition) {
+            return notBetween(column, begin, end);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using less-than ({@literal <}).
+     *
+     * @param value must not be {@literal null}.
+     */
+    public LambdaEaseQuery<T> lt(Column<T> column, Object value) {
+        String s = column.getName();
+        return lt(s, value);
+    }
+
+    public LambdaEaseQuery<T> lt(boolean condition, Column<T> column, Object value) {
+        if (condition) {
+            return lt(column, value);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using less-than or equal to ({@literal <=}).
+     *
+     * @param value must not be {@literal null}.
+     */
+    public LambdaEaseQuery<T> le(Column<T> column, Object value) {
+        String s = column.getName();
+        return le(s, value);
+    }
+
+    public LambdaEaseQuery<T> le(boolean condition, Column<T> column, Object value) {
+        if (condition) {
+            return le(column, value);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using greater-than({@literal >}).
+     *
+     * @param value must not be {@literal null}.
+     */
+    public LambdaEaseQuery<T> gt(Column<T> column, Object value) {
+        String s = column.getName();
+        return gt(s, value);
+    }
+
+    public LambdaEaseQuery<T> gt(boolean condition, Column<T> column, Object value) {
+        if (condition) {
+            return gt(column, value);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using greater-than or equal to ({@literal >=}).
+     *
+     * @param value must not be {@literal null}.
+     */
+    public LambdaEaseQuery<T> ge(Column<T> column, Object value) {
+        String s = column.getName();
+        return ge(s, value);
+    }
+
+    public LambdaEaseQuery<T> ge(boolean condition, Column<T> column, Object value) {
+        if (condition) {
+            return ge(column, value);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using {@code LIKE}.
+     *
+     * @param value must not be {@literal null}.
+     */
+    public LambdaEaseQuery<T> like(Column<T> column, Object value) {
+        String s = column.getName();
+        return like(s, value);
+    }
+
+    public LambdaEaseQuery<T> like(boolean condition, Column<T> column, Object value) {
+        if (condition) {
+            return like(column, value);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using {@code NOT LIKE}.
+     *
+     * @param value must not be {@literal null}
+     * @return a new {@link Criteria} object
+     */
+    public LambdaEaseQuery<T> notLike(Column<T> column, Object value) {
+        String s = column.getName();
+        return notLike(s, value);
+    }
+
+    public LambdaEaseQuery<T> notLike(boolean condition, Column<T> column, Object value) {
+        if (condition) {
+            return notLike(column, value);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using {@code IS NULL}.
+     */
+    public LambdaEaseQuery<T> isNull(Column<T> column) {
+        String s = column.getName();
+        return isNull(s);
+    }
+
+    public LambdaEaseQuery<T> isNull(boolean condition, Column<T> column) {
+        if (condition) {
+            return isNull(column);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using {@code IS NOT NULL}.
+     */
+    public LambdaEaseQuery<T> isNotNull(Column<T> column) {
+        String s = column.getName();
+        return isNotNull(s);
+    }
+
+    public LambdaEaseQuery<T> isNotNull(boolean condition, Column<T> column) {
+        if (condition) {
+            return isNotNull(column);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using {@code IS TRUE}.
+     *
+     * @return a new {@link Criteria} object
+     */
+    public LambdaEaseQuery<T> isTrue(Column<T> column) {
+        String s = column.getName();
+        return isTrue(s);
+    }
+
+    public LambdaEaseQuery<T> isTrue(boolean condition, Column<T> column) {
+        if (condition) {
+            return isTrue(column);
+        }
+        return this;
+    }
+
+    /**
+     * Creates a {@link Criteria} using {@code IS FALSE}.
+     *
+     * @return a new {@link Criteria} object
+     */
+    public LambdaEaseQuery<T> isFalse(Column<T> column) {
+        String s = column.getName();
+        return isFalse(s);
+    }
+
+    public LambdaEaseQuery<T> isFalse(boolean condition, Column<T> column) {
+        if (condition) {
+            return isFalse(column);
+        }
+        return this;
+    }
+
+
+    /**
+     * Sorting: ORDER BY field, ... ASC
+     * <p>Example: orderByAsc(true, BookInfo_.ID)</p>
+     *
+     * @param condition Execution condition
+     * @param column    column
+     * @return LambdaEaseQuery<T>
+     */
+    public LambdaEaseQuery<T> orderByAsc(boolean condition, Column<T> column) {
+        if (condition) {
+            return orderByAsc(column);
+        }
+        return this;
+    }
+
+    /**
+     * Sorting: ORDER BY field, ... ASC
+     * <p>Example: orderByAsc(BookInfo_.ID)</p>
+     *
+     * @param column column
+     * @return LambdaEaseQuery<T>
+     */
+    public LambdaEaseQuery<T> orderByAsc(Column<T> column) {
+        String s = column.getName();
+        return orderByAsc(s);
+    }
+
+
+    /**
+     * Sorting: ORDER BY field, ... DESC
+     * <p>Example: orderByDesc(true, BookInfo_.ID)</p>
+     *
+     * @param condition Execution condition
+     * @param column    column
+     * @return LambdaEaseQuery<T>
+     */
+    public LambdaEaseQuery<T> orderByDesc(boolean condition, Column<T> column) {
+        if (condition) {
+            return orderByDesc(column);
+        }
+        return this;
+    }
+
+    /**
+     * Sorting: ORDER BY field, ... DESC
+     * <p>Example: orderByDesc(BookInfo_.ID)</p>
+     *
+     * @param column column
+     * @return LambdaEaseQuery<T>
+     */
+    public LambdaEaseQuery<T> orderByDesc(Column<T> column) {
+        String s = column.getName();
+        return orderByDesc(s);
+    }
+
     @Override
     LambdaEaseQuery<T> newInstance() {
         return new LambdaEaseQuery<>();
@@ -0,0 +1,22 @@
+package com.reopenai.bookstore.component.database.converter;
+
+import com.reopenai.bookstore.bean.Money;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+import java.math.BigDecimal;
+
+/**
+ * Reads DECIMAL columns into {@link Money}
+ *
+ * @author Allen Huang
+ */
+@ReadingConverter
+public class MoneyReadingConverter implements Converter<BigDecimal, Money> {
+
+    @Override
+    public Money convert(BigDecimal source) {
+        return Money.of(source);
+    }
+
+}
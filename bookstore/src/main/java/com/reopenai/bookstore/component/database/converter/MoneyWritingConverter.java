@@ -0,0 +1,22 @@
+package com.reopenai.bookstore.component.database.converter;
+
+import com.reopenai.bookstore.bean.Money;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.math.BigDecimal;
+
+/**
+ * Writes {@link Money} into DECIMAL columns
+ *
+ * @author Allen Huang
+ */
+@WritingConverter
+public class MoneyWritingConverter implements Converter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convert(Money source) {
+        return source.toBigDecimal();
+    }
+
+}
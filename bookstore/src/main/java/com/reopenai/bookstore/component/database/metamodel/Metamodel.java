@@ -0,0 +1,19 @@
+package com.reopenai.bookstore.component.database.metamodel;
+
+import java.lang.annotation.*;
+
+/**
+ * Generates a metamodel class named after the annotated class with a trailing underscore, holding
+ * a {@link com.reopenai.bookstore.component.database.condition.Column} constant for each property:
+ * <pre>{@code
+ *   new LambdaEaseQuery<BookInfo>().eq(BookInfo_.CATEGORY_ID, categoryId)
+ * }</pre>
+ *
+ * @author Allen Huang
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Metamodel {
+
+}
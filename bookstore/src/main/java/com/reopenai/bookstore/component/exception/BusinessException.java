@@ -0,0 +1,66 @@
+package com.reopenai.bookstore.component.exception;
+
+import com.reopenai.bookstore.bean.ErrorCode;
+import com.reopenai.bookstore.component.i18n.I18nUtil;
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * A base exception class - all custom exceptions should extend this.
+ * <p>
+ * Business errors are expected outcomes (unknown ids, duplicate names) answered from the error code
+ * and the args, so by default the exception does not fill in a stack trace and the message is only
+ * resolved when {@link #getMessage()} is called, e.g. when the exception is logged.
+ *
+ * @author Allen Huang
+ */
+@Getter
+public class BusinessException extends RuntimeException {
+    /**
+     * error code
+     */
+    private final ErrorCode errorCode;
+    /**
+     * Invalid parameter. This parameter can be used to construct internationalized exception messages.
+     */
+    private final Object[] args;
+    /**
+     * Locale of the message
+     */
+    private final Locale locale;
+
+    private volatile String message;
+
+    public BusinessException(ErrorCode errorCode, Object... args) {
+        this(Locale.SIMPLIFIED_CHINESE, errorCode, args);
+    }
+
+    public BusinessException(Locale locale, ErrorCode errorCode, Object... args) {
+        this(false, locale, errorCode, args);
+    }
+
+    /**
+     * @param writableStackTrace whether the stack trace is filled in, for errors that need to be traced
+     * @param locale             locale of the message
+     * @param errorCode          error code
+     * @param args               i18n params
+     */
+    protected BusinessException(boolean writableStackTrace, Locale locale, ErrorCode errorCode, Object... args) {
+        super(null, null, false, writableStackTrace);
+        this.errorCode = errorCode;
+        this.args = args;
+        this.locale = locale;
+    }
+
+    @Override
+    public String getMessage() {
+        String message = this.message;
+        if (message == null) {
+            message = I18nUtil.parseLocaleMessage(locale, errorCode, args);
+            this.message = message;
+        }
+        return message;
+    }
+
+}
@@ -10,7 +10,7 @@ import org.springframework.context.annotation.Configuration;
 public class I18nConfig {
 
     public I18nConfig(MessageSource messageSource) {
-        I18nUtil.messageSource = messageSource;
+        I18nUtil.setMessageSource(messageSource);
     }
 
 }
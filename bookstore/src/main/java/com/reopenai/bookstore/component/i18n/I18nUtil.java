@@ -13,25 +13,44 @@ import java.math.RoundingMode;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * internationalized utils
+ * <p>
+ * The message of a code is looked up in the {@link MessageSource} once per locale and compiled into a
+ * {@link MessageTemplate}, later calls only format the arguments into it.
  *
  * @author Allen Huang
  */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public final class I18nUtil {
 
-    private static final NumberFormat NUMBER_FORMAT;
+    /**
+     * Upper bound of the cached templates, the locales come from the requests
+     */
+    private static final int MAX_TEMPLATES = 4096;
 
-    static {
-        NUMBER_FORMAT = NumberFormat.getNumberInstance(Locale.CHINA);
-        NUMBER_FORMAT.setMaximumIntegerDigits(32);
-        NUMBER_FORMAT.setMaximumFractionDigits(32);
-        NUMBER_FORMAT.setRoundingMode(RoundingMode.CEILING);
-    }
+    /**
+     * NumberFormat is not thread-safe, every thread formats with its own
+     */
+    private static final ThreadLocal<NumberFormat> NUMBER_FORMAT = ThreadLocal.withInitial(() -> {
+        NumberFormat numberFormat = NumberFormat.getNumberInstance(Locale.CHINA);
+        numberFormat.setMaximumIntegerDigits(32);
+        numberFormat.setMaximumFractionDigits(32);
+        numberFormat.setRoundingMode(RoundingMode.CEILING);
+        return numberFormat;
+    });
 
-    static MessageSource messageSource;
+    private static final Map<TemplateKey, MessageTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private static volatile MessageSource messageSource;
+
+    static void setMessageSource(MessageSource messageSource) {
+        I18nUtil.messageSource = messageSource;
+        TEMPLATES.clear();
+    }
 
     /**
      * Parse the localized internationalized message corresponding to the error code using the provided format parameters.
@@ -128,6 +147,13 @@ public final class I18nUtil {
      */
     public static String parseLocaleMessage(Locale locale, String code, Object... args) {
         try {
+            MessageTemplate template = getTemplate(locale, code);
+            if (template == null) {
+                return code;
+            }
+            if (args.length == 0) {
+                return template.format(args);
+            }
             Object[] vars = new Object[args.length];
             for (int i = 0; i < args.length; i++) {
                 Object arg = args[i];
@@ -137,14 +163,37 @@ public final class I18nUtil {
                 } else if (arg instanceof LocalDateTime time) {
                     arg = time.format(JavaTimeConstants.DATE_TIME_FORMATTER);
                 } else if (arg instanceof Number number) {
-                    arg = NUMBER_FORMAT.format(number);
+                    arg = NUMBER_FORMAT.get().format(number);
                 }
                 vars[i] = arg;
             }
-            return messageSource.getMessage(code, vars, locale);
+            return template.format(vars);
         } catch (Exception e) {
             return code;
         }
     }
 
+    /**
+     * @return the compiled message of the code, null if the code has no message
+     */
+    private static MessageTemplate getTemplate(Locale locale, String code) {
+        TemplateKey key = new TemplateKey(code, locale);
+        MessageTemplate template = TEMPLATES.get(key);
+        if (template == null) {
+            // without arguments the message source returns the message as declared
+            String pattern = messageSource.getMessage(code, null, null, locale);
+            if (pattern == null) {
+                return null;
+            }
+            template = MessageTemplate.compile(pattern, locale);
+            if (TEMPLATES.size() < MAX_TEMPLATES) {
+                TEMPLATES.putIfAbsent(key, template);
+            }
+        }
+        return template;
+    }
+
+    private record TemplateKey(String code, Locale locale) {
+    }
+
 }
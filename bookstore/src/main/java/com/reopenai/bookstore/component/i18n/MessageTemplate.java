@@ -0,0 +1,117 @@
+package com.reopenai.bookstore.component.i18n;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+/**
+ * A message pattern compiled once per code and locale.
+ * <p>
+ * Patterns made of text and plain {@code {n}} placeholders, which is all the application messages use,
+ * are split into literals and argument indexes and formatted without {@link MessageFormat}. Other patterns
+ * (quotes, {@code {n,number}} and the like) are formatted by a copy of a parsed {@link MessageFormat}.
+ * <p>
+ * Created by Allen Huang
+ */
+final class MessageTemplate {
+
+    private static final int[] NO_INDEXES = new int[0];
+
+    private final String pattern;
+
+    private final String[] literals;
+
+    private final int[] indexes;
+
+    private final MessageFormat messageFormat;
+
+    private MessageTemplate(String pattern, String[] literals, int[] indexes, MessageFormat messageFormat) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.indexes = indexes;
+        this.messageFormat = messageFormat;
+    }
+
+    /**
+     * Compile the pattern of a message
+     *
+     * @param pattern the message as declared, without any formatting applied
+     * @param locale  locale of the message
+     * @return compiled template
+     */
+    static MessageTemplate compile(String pattern, Locale locale) {
+        if (pattern.indexOf('\'') >= 0) {
+            return new MessageTemplate(pattern, null, null, new MessageFormat(pattern, locale));
+        }
+        int count = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            if (pattern.charAt(i) == '{') {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return new MessageTemplate(pattern, new String[]{pattern}, NO_INDEXES, null);
+        }
+        String[] literals = new String[count + 1];
+        int[] indexes = new int[count];
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int open = pattern.indexOf('{', start);
+            int close = pattern.indexOf('}', open);
+            int index = close < 0 ? -1 : parseIndex(pattern, open + 1, close);
+            if (index < 0 || pattern.lastIndexOf('}', open) >= start) {
+                return new MessageTemplate(pattern, null, null, new MessageFormat(pattern, locale));
+            }
+            literals[i] = pattern.substring(start, open);
+            indexes[i] = index;
+            start = close + 1;
+        }
+        if (pattern.indexOf('}', start) >= 0) {
+            return new MessageTemplate(pattern, null, null, new MessageFormat(pattern, locale));
+        }
+        literals[count] = pattern.substring(start);
+        return new MessageTemplate(pattern, literals, indexes, null);
+    }
+
+    /**
+     * Format the message. Like {@code MessageSource}, a message without arguments is returned as declared.
+     *
+     * @param args message arguments, already converted by {@link I18nUtil}
+     * @return formatted message
+     */
+    String format(Object[] args) {
+        if (args.length == 0) {
+            return pattern;
+        }
+        if (messageFormat != null) {
+            return ((MessageFormat) messageFormat.clone()).format(args);
+        }
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * indexes.length);
+        for (int i = 0; i < indexes.length; i++) {
+            builder.append(literals[i]);
+            int index = indexes[i];
+            if (index < args.length) {
+                builder.append(args[index]);
+            } else {
+                // MessageFormat keeps the placeholders it has no argument for
+                builder.append('{').append(index).append('}');
+            }
+        }
+        return builder.append(literals[indexes.length]).toString();
+    }
+
+    private static int parseIndex(String pattern, int begin, int end) {
+        if (begin == end || end - begin > 4) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = begin; i < end; i++) {
+            char c = pattern.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.reopenai.bookstore.component.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.accept.HeaderContentTypeResolver;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolverBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) request and response bodies,
+ * for the clients that ask for them with {@code Content-Type} and {@code Accept}. JSON stays the default.
+ * <p>
+ * The mappers are built like the JSON one, with the serializers of {@link JacksonConfig}, so every format
+ * carries the same values. Smile replaces the default codecs; CBOR has no default codec and is registered as a
+ * custom one, which is ahead of the default JSON codec. JSON stays the format for {@code *}{@code /*} because
+ * the accepted wildcard types are preceded by {@code application/json}.
+ *
+ * @author Allen Huang
+ */
+@Configuration
+public class BinaryCodecConfig implements WebFluxConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builder;
+
+    public BinaryCodecConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+        this.builder = builder;
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        ObjectMapper cborMapper = builder.getObject().factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = builder.getObject().factory(new SmileFactory()).build();
+        configurer.customCodecs().register(new CborEncoder(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, APPLICATION_SMILE));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, APPLICATION_SMILE));
+    }
+
+    @Override
+    public void configureContentTypeResolver(RequestedContentTypeResolverBuilder builder) {
+        HeaderContentTypeResolver headerResolver = new HeaderContentTypeResolver();
+        builder.resolver(exchange -> preferJson(headerResolver.resolveMediaTypes(exchange)));
+    }
+
+    /**
+     * Puts {@code application/json} ahead of every accepted wildcard type that includes it, with the same quality.
+     * A client that accepts any format gets JSON, although the CBOR codec comes first.
+     */
+    private static List<MediaType> preferJson(List<MediaType> accepted) {
+        List<MediaType> result = null;
+        for (int i = 0; i < accepted.size(); i++) {
+            MediaType mediaType = accepted.get(i);
+            if (mediaType.isWildcardSubtype() && mediaType.includes(MediaType.APPLICATION_JSON)) {
+                if (result == null) {
+                    result = new ArrayList<>(accepted.subList(0, i));
+                }
+                result.add(new MediaType("application", "json", mediaType.getQualityValue()));
+            }
+            if (result != null) {
+                result.add(mediaType);
+            }
+        }
+        return result != null ? result : accepted;
+    }
+
+    /**
+     * {@link Jackson2CborEncoder} refuses every publisher, the response body is encoded as a single value instead,
+     * a {@link Flux} as a CBOR array.
+     */
+    private static class CborEncoder extends Jackson2CborEncoder {
+
+        CborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> mono) {
+                return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return Flux.from(inputStream)
+                    .collectList()
+                    .map(list -> encodeValue(list, bufferFactory, listType, mimeType, hints))
+                    .flux();
+        }
+
+    }
+
+}
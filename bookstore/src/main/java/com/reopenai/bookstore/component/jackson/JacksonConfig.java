@@ -1,9 +1,12 @@
 package com.reopenai.bookstore.component.jackson;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reopenai.bookstore.bean.Money;
 import com.reopenai.bookstore.component.jackson.deserializer.LocalDateTimeDeserializer;
+import com.reopenai.bookstore.component.jackson.deserializer.MoneyDeserializer;
 import com.reopenai.bookstore.component.jackson.serializer.BigDecimalSerializer;
 import com.reopenai.bookstore.component.jackson.serializer.LocalDateTimeSerializer;
+import com.reopenai.bookstore.component.jackson.serializer.MoneySerializer;
 import com.reopenai.bookstore.component.jackson.serializer.NumberSerializer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
@@ -28,7 +31,9 @@ public class JacksonConfig {
                 .serializerByType(Number.class, new NumberSerializer())
                 .serializerByType(BigDecimal.class, new BigDecimalSerializer())
                 .serializerByType(LocalDateTime.class, new LocalDateTimeSerializer())
-                .deserializerByType(LocalDateTime.class, new LocalDateTimeDeserializer());
+                .serializerByType(Money.class, new MoneySerializer())
+                .deserializerByType(LocalDateTime.class, new LocalDateTimeDeserializer())
+                .deserializerByType(Money.class, new MoneyDeserializer());
     }
 
 }
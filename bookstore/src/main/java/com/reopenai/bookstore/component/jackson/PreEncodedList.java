@@ -0,0 +1,84 @@
+package com.reopenai.bookstore.component.jackson;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.reopenai.bookstore.component.jackson.serializer.PreEncodedListSerializer;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.UnaryOperator;
+
+/**
+ * An immutable list that carries its own JSON form, for lists that are served many times between changes.
+ * JSON output copies the encoded array as is, other formats serialize the elements.
+ *
+ * @param <E> element type
+ * @author Allen Huang
+ */
+@JsonSerialize(using = PreEncodedListSerializer.class)
+public final class PreEncodedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<E> elements;
+
+    private final SerializableString json;
+
+    private PreEncodedList(List<E> elements, String json) {
+        this(elements, new SerializedString(json));
+    }
+
+    private PreEncodedList(List<E> elements, SerializableString json) {
+        this.elements = elements;
+        this.json = json;
+    }
+
+    /**
+     * Encodes the elements with the given mapper, which must be the one the responses are written with
+     *
+     * @param elements     elements of the list, copied
+     * @param objectMapper JSON mapper
+     * @return the list with its JSON form
+     */
+    public static <E> PreEncodedList<E> encode(List<E> elements, ObjectMapper objectMapper) throws JsonProcessingException {
+        List<E> copy = List.copyOf(elements);
+        return new PreEncodedList<>(copy, objectMapper.writeValueAsString(copy));
+    }
+
+    /**
+     * The same list with each element copied, for callers that must not share the elements.
+     * The copies must serialize like the originals, the JSON form is kept.
+     *
+     * @param copier copies an element
+     * @return the list of the copies
+     */
+    public PreEncodedList<E> copy(UnaryOperator<E> copier) {
+        List<E> copy = new ArrayList<>(elements.size());
+        for (E element : elements) {
+            copy.add(copier.apply(element));
+        }
+        return new PreEncodedList<>(Collections.unmodifiableList(copy), json);
+    }
+
+    /**
+     * @return JSON array of the elements
+     */
+    public SerializableString getJson() {
+        return json;
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+}
@@ -5,11 +5,11 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.reopenai.bookstore.component.constants.JavaTimeConstants;
 
 import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 
 /**
  * @author Allen Huang
@@ -25,7 +25,7 @@ public class LocalDateTimeDeserializer extends JsonDeserializer<LocalDateTime> {
         } else {
             timestamp = parser.getValueAsLong();
         }
-        return timestamp > 0 ? LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()) : null;
+        return timestamp > 0 ? LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), JavaTimeConstants.SYSTEM_ZONE_ID) : null;
     }
 
 }
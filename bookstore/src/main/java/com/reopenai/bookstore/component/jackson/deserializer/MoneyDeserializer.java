@@ -0,0 +1,26 @@
+package com.reopenai.bookstore.component.jackson.deserializer;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.reopenai.bookstore.bean.Money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * @author Allen Huang
+ */
+public class MoneyDeserializer extends JsonDeserializer<Money> {
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext deserializationContext) throws IOException, JacksonException {
+        BigDecimal value = parser.hasToken(JsonToken.VALUE_STRING)
+                ? new BigDecimal(parser.getValueAsString())
+                : parser.getDecimalValue();
+        return Money.of(value);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.reopenai.bookstore.component.jackson.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes decimals in plain notation without trailing zeros. Values with at most 18 digits are formatted
+ * straight into a char buffer, others through {@code stripTrailingZeros().toPlainString()}.
+ *
+ * @author Allen Huang
+ */
+public class BigDecimalSerializer extends JsonSerializer<BigDecimal> {
+
+    @Override
+    public void serialize(BigDecimal value, JsonGenerator jsonGenerator, SerializerProvider serializers) throws IOException {
+        int scale = value.scale();
+        if (value.precision() <= 18 && Math.abs(scale) <= DecimalChars.MAX_SCALE) {
+            char[] buffer = DecimalChars.buffer();
+            int length = DecimalChars.plain(value.unscaledValue().longValue(), scale, buffer);
+            jsonGenerator.writeString(buffer, 0, length);
+        } else {
+            jsonGenerator.writeString(value.stripTrailingZeros().toPlainString());
+        }
+    }
+
+}
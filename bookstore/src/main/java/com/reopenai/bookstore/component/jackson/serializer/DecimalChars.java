@@ -0,0 +1,78 @@
+package com.reopenai.bookstore.component.jackson.serializer;
+
+import com.fasterxml.jackson.core.io.NumberOutput;
+
+/**
+ * Formats numbers into a per-thread char buffer, so the serializers can hand the characters to the
+ * generator without creating a string first.
+ *
+ * @author Allen Huang
+ */
+final class DecimalChars {
+
+    /**
+     * Scales beyond it are left to {@link java.math.BigDecimal#toPlainString()}, they do not fit the buffer
+     */
+    static final int MAX_SCALE = 18;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+
+    private DecimalChars() {
+    }
+
+    /**
+     * @return the buffer of the current thread, the generator copies the characters before it is reused
+     */
+    static char[] buffer() {
+        return BUFFER.get();
+    }
+
+    /**
+     * Writes {@code unscaled × 10^-scale} in plain notation without trailing zeros, like
+     * {@code stripTrailingZeros().toPlainString()} of the same BigDecimal
+     *
+     * @param unscaled unscaled value, not {@link Long#MIN_VALUE}
+     * @param scale    scale, between {@code -MAX_SCALE} and {@code MAX_SCALE}
+     * @param buffer   buffer to write into
+     * @return number of characters written
+     */
+    static int plain(long unscaled, int scale, char[] buffer) {
+        while (scale > 0 && unscaled % 10 == 0) {
+            unscaled /= 10;
+            scale--;
+        }
+        int offset = 0;
+        if (unscaled < 0) {
+            buffer[offset++] = '-';
+            unscaled = -unscaled;
+        }
+        if (scale <= 0) {
+            offset = NumberOutput.outputLong(unscaled, buffer, offset);
+            if (unscaled != 0) {
+                for (int i = scale; i < 0; i++) {
+                    buffer[offset++] = '0';
+                }
+            }
+            return offset;
+        }
+        // digits first, then the decimal point is moved into place
+        int start = offset;
+        int end = NumberOutput.outputLong(unscaled, buffer, offset);
+        int digits = end - start;
+        if (digits > scale) {
+            int point = end - scale;
+            System.arraycopy(buffer, point, buffer, point + 1, scale);
+            buffer[point] = '.';
+            return end + 1;
+        }
+        int zeros = scale - digits;
+        System.arraycopy(buffer, start, buffer, start + 2 + zeros, digits);
+        buffer[start] = '0';
+        buffer[start + 1] = '.';
+        for (int i = 0; i < zeros; i++) {
+            buffer[start + 2 + i] = '0';
+        }
+        return start + 2 + zeros + digits;
+    }
+
+}
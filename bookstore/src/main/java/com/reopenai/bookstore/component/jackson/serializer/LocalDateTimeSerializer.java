@@ -0,0 +1,35 @@
+package com.reopenai.bookstore.component.jackson.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.reopenai.bookstore.component.constants.JavaTimeConstants;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+/**
+ * Writes the epoch milliseconds of the time in the system zone. The zone rules are resolved once, the offset
+ * of a time in a gap or an overlap is the one before the transition, as {@code atZone} picks it.
+ *
+ * @author Allen Huang
+ */
+public class LocalDateTimeSerializer extends JsonSerializer<LocalDateTime> {
+
+    private static final ZoneRules ZONE_RULES = JavaTimeConstants.SYSTEM_ZONE_ID.getRules();
+
+    @Override
+    public void serialize(LocalDateTime localDateTime, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        ZoneOffset offset = ZONE_RULES.getOffset(localDateTime);
+        long seconds = localDateTime.toEpochSecond(offset);
+        try {
+            long timestamp = Math.addExact(Math.multiplyExact(seconds, 1000L), localDateTime.getNano() / 1_000_000);
+            jsonGenerator.writeNumber(timestamp);
+        } catch (ArithmeticException e) {
+            jsonGenerator.writeNumber(seconds < 0 ? 0 : Long.MAX_VALUE);
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.reopenai.bookstore.component.jackson.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.reopenai.bookstore.bean.Money;
+
+import java.io.IOException;
+
+/**
+ * Writes money in the same plain notation as {@link BigDecimalSerializer}, without going through BigDecimal
+ *
+ * @author Allen Huang
+ */
+public class MoneySerializer extends JsonSerializer<Money> {
+
+    @Override
+    public void serialize(Money value, JsonGenerator jsonGenerator, SerializerProvider serializers) throws IOException {
+        long minorUnits = value.getMinorUnits();
+        if (minorUnits == Long.MIN_VALUE) {
+            jsonGenerator.writeString(value.toString());
+            return;
+        }
+        char[] buffer = DecimalChars.buffer();
+        int length = DecimalChars.plain(minorUnits, Money.SCALE, buffer);
+        jsonGenerator.writeString(buffer, 0, length);
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.reopenai.bookstore.component.jackson.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.NumberOutput;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Writes numbers as strings. Integral values, the ids and quantities, are formatted straight into a char buffer.
+ *
+ * @author Allen Huang
+ */
+public class NumberSerializer extends JsonSerializer<Number> {
+
+    @Override
+    public void serialize(Number value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            char[] buffer = DecimalChars.buffer();
+            int length = NumberOutput.outputLong(value.longValue(), buffer, 0);
+            gen.writeString(buffer, 0, length);
+        } else {
+            gen.writeString(value.toString());
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.reopenai.bookstore.component.jackson.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.reopenai.bookstore.component.jackson.PreEncodedList;
+
+import java.io.IOException;
+
+/**
+ * Writes the encoded JSON of a {@link PreEncodedList} to JSON generators. Binary generators (CBOR, Smile) and
+ * token buffers cannot take raw JSON, they get the elements.
+ *
+ * @author Allen Huang
+ */
+public class PreEncodedListSerializer extends JsonSerializer<PreEncodedList<?>> {
+
+    @Override
+    public void serialize(PreEncodedList<?> value, JsonGenerator jsonGenerator, SerializerProvider serializers) throws IOException {
+        if (jsonGenerator instanceof JsonGeneratorImpl) {
+            jsonGenerator.writeRawValue(value.getJson());
+            return;
+        }
+        jsonGenerator.writeStartArray(value, value.size());
+        for (Object element : value) {
+            serializers.defaultSerializeValue(element, jsonGenerator);
+        }
+        jsonGenerator.writeEndArray();
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.reopenai.bookstore.component.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the time it takes to get a connection from the pool as {@value #METRIC_NAME}.
+ * The pool itself stays reachable through {@link Wrapped#unwrap()}, the pool gauges of Spring Boot
+ * ({@code r2dbc.pool.acquired}, {@code idle}, {@code pending}...) are bound to it.
+ * <p>
+ * The wrapper replaces the pool bean, so it also disposes and closes the pool, the destroy method of the
+ * bean ({@code dispose}) is called on it.
+ *
+ * @author Allen Huang
+ */
+public class MeteredConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable, Closeable {
+
+    public static final String METRIC_NAME = "r2dbc.pool.acquire";
+
+    private final ConnectionFactory delegate;
+
+    private final String name;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private volatile Timer timer;
+
+    public MeteredConnectionFactory(ConnectionFactory delegate, String name, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.delegate = delegate;
+        this.name = name;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        Timer acquireTimer = getTimer();
+        if (acquireTimer == null) {
+            return Mono.from(delegate.create());
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.<Connection>from(delegate.create())
+                    .doOnNext(connection -> acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    @Override
+    public void dispose() {
+        if (delegate instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate instanceof Disposable disposable && disposable.isDisposed();
+    }
+
+    @Override
+    public Publisher<Void> close() {
+        return delegate instanceof Closeable closeable ? closeable.close() : Mono.empty();
+    }
+
+    private Timer getTimer() {
+        Timer acquireTimer = this.timer;
+        if (acquireTimer == null) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return null;
+            }
+            acquireTimer = Timer.builder(METRIC_NAME)
+                    .description("Time to acquire a connection from the pool")
+                    .tag("name", name)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.timer = acquireTimer;
+        }
+        return acquireTimer;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.reopenai.bookstore.component.metrics;
+
+import com.reopenai.bookstore.service.BookInfoService;
+import com.reopenai.bookstore.service.CategoryService;
+import com.reopenai.bookstore.service.ShoppingCartService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Service timers and connection acquire timer. The pool gauges and the Prometheus endpoint come from
+ * Spring Boot Actuator.
+ *
+ * @author Allen Huang
+ */
+@Configuration(proxyBeanMethods = false)
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+public class MetricsConfig {
+
+    private static final List<Class<?>> TIMED_SERVICES = List.of(BookInfoService.class, CategoryService.class, ShoppingCartService.class);
+
+    /**
+     * An infrastructure advisor is applied by the auto proxy creator of the transaction support,
+     * no AspectJ is needed. It is ordered first, so the timers include the transactions.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTimerAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new ServicePointcut(), new ServiceTimerInterceptor(meterRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public static BeanPostProcessor meteredConnectionFactoryPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // the routing factory holds no connections, its pools are timed
+                if (bean instanceof ConnectionFactory connectionFactory && !(bean instanceof MeteredConnectionFactory)
+                        && !(bean instanceof AbstractRoutingConnectionFactory)) {
+                    return new MeteredConnectionFactory(connectionFactory, beanName, meterRegistry);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Matches the methods of the timed service interfaces
+     */
+    private static class ServicePointcut extends StaticMethodMatcherPointcut {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            for (Class<?> service : TIMED_SERVICES) {
+                if (service.isAssignableFrom(targetClass)
+                        && ReflectionUtils.findMethod(service, method.getName(), method.getParameterTypes()) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+}
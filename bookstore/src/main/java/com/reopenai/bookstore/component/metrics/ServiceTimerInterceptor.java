@@ -0,0 +1,127 @@
+package com.reopenai.bookstore.component.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a {@value #METRIC_NAME} timer per service method. A {@link Mono} or {@link Flux} is timed
+ * from subscription until it completes, fails or is cancelled, not just while the method builds it.
+ *
+ * @author Allen Huang
+ */
+public class ServiceTimerInterceptor implements MethodInterceptor {
+
+    public static final String METRIC_NAME = "bookstore.service";
+
+    private static final String SUCCESS = "success";
+
+    private static final String ERROR = "error";
+
+    private static final String CANCELLED = "cancelled";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public ServiceTimerInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return invocation.proceed();
+        }
+        MethodTimers methodTimers = timers.computeIfAbsent(invocation.getMethod(),
+                method -> new MethodTimers(registry, serviceName(invocation), method.getName()));
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            methodTimers.record(ERROR, start);
+            throw e;
+        }
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                return mono.doFinally(signal -> methodTimers.record(outcome(signal), subscribed));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                return flux.doFinally(signal -> methodTimers.record(outcome(signal), subscribed));
+            });
+        }
+        methodTimers.record(SUCCESS, start);
+        return result;
+    }
+
+    /**
+     * The simple name of the service interface that declares the method
+     */
+    private static String serviceName(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() == null ? method.getDeclaringClass() : AopUtils.getTargetClass(invocation.getThis());
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            if (ReflectionUtils.findMethod(type, method.getName(), method.getParameterTypes()) != null) {
+                return type.getSimpleName();
+            }
+        }
+        return targetClass.getSimpleName();
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> ERROR;
+            case CANCEL -> CANCELLED;
+            default -> SUCCESS;
+        };
+    }
+
+    private static class MethodTimers {
+
+        private final MeterRegistry registry;
+
+        private final String service;
+
+        private final String method;
+
+        private final Map<String, Timer> outcomes = new ConcurrentHashMap<>(4);
+
+        MethodTimers(MeterRegistry registry, String service, String method) {
+            this.registry = registry;
+            this.service = service;
+            this.method = method;
+        }
+
+        void record(String outcome, long start) {
+            outcomes.computeIfAbsent(outcome, key -> Timer.builder(METRIC_NAME)
+                            .description("Service method execution time")
+                            .tag("service", service)
+                            .tag("method", method)
+                            .tag("outcome", key)
+                            .publishPercentileHistogram()
+                            .register(registry))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.reopenai.bookstore.component.ratelimit;
+
+import com.reopenai.bookstore.bean.ErrorCode;
+import com.reopenai.bookstore.component.webflux.AttrKeys;
+import com.reopenai.bookstore.component.webflux.ErrorResponseCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the request rate of each user per route group: catalog reads, shopping cart writes and admin.
+ * Other requests are not limited. Rejected requests are answered with 429 and a {@code Retry-After}
+ * header, before they reach a handler or the database.
+ * <p>
+ * Users are told apart by {@link AttrKeys#CURRENT_UID}, so the filter is only registered with
+ * {@code bookstore.rate-limit.enabled=true}.
+ * <p>
+ * Created by Allen Huang
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitFilter implements WebFilter {
+
+    private final ErrorResponseCache errorResponses;
+
+    private final RateLimiter catalog;
+
+    private final RateLimiter cart;
+
+    private final RateLimiter admin;
+
+    public RateLimitFilter(ServerCodecConfigurer codecConfigurer, RateLimitProperties properties) {
+        this.errorResponses = new ErrorResponseCache(codecConfigurer);
+        this.catalog = new RateLimiter(properties.getCatalog(), properties.getMaxUsers());
+        this.cart = new RateLimiter(properties.getCart(), properties.getMaxUsers());
+        this.admin = new RateLimiter(properties.getAdmin(), properties.getMaxUsers());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Long uid = exchange.getAttribute(AttrKeys.CURRENT_UID);
+        RateLimiter limiter = uid == null ? null : route(exchange.getRequest());
+        if (limiter != null) {
+            long wait = limiter.tryAcquire(uid);
+            if (wait > 0) {
+                return reject(exchange, uid, wait);
+            }
+        }
+        return chain.filter(exchange);
+    }
+
+    private RateLimiter route(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        HttpMethod method = request.getMethod();
+        if (path.startsWith("/v1/admin/")) {
+            return admin;
+        }
+        // the checkout is mapped under /v1/shopping-chart
+        if (path.startsWith("/v1/shopping-cart") || path.startsWith("/v1/shopping-chart")) {
+            return HttpMethod.GET.equals(method) ? null : cart;
+        }
+        if (HttpMethod.GET.equals(method) && (path.startsWith("/v1/books") || path.startsWith("/v1/categories"))) {
+            return catalog;
+        }
+        return null;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, Long uid, long waitNanos) {
+        log.warn("[RateLimit]Too many requests of user {} to {}", uid, exchange.getRequest().getPath());
+        Locale locale = exchange.getLocaleContext().getLocale();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, divideCeil(waitNanos, TimeUnit.SECONDS.toNanos(1)))));
+        return response.writeWith(Mono.just(errorResponses.failure(exchange, locale, ErrorCode.MANY_REQUEST)));
+    }
+
+    private static long divideCeil(long value, long divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.reopenai.bookstore.component.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-user rate limits of the route groups
+ * <p>
+ * Created by Allen Huang
+ */
+@Data
+@ConfigurationProperties("bookstore.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether requests are rate limited. The buckets are keyed by the current user id, leave it off until
+     * the users are really authenticated, with the mock {@code AuthFilter} every request is the same user.
+     */
+    private boolean enabled;
+
+    /**
+     * Upper bound of the users tracked per route group, the least recently seen users are evicted beyond it
+     */
+    private int maxUsers = 100_000;
+
+    /**
+     * Catalog reads: GET of books and categories
+     */
+    private Limit catalog = new Limit(100, 50);
+
+    /**
+     * Shopping cart writes
+     */
+    private Limit cart = new Limit(20, 10);
+
+    /**
+     * Admin endpoints
+     */
+    private Limit admin = new Limit(20, 5);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /**
+         * Size of the bucket, the number of requests a user may burst
+         */
+        private int capacity;
+
+        /**
+         * Tokens added to the bucket per second, the sustained request rate of a user
+         */
+        private double refillPerSecond;
+
+    }
+
+}
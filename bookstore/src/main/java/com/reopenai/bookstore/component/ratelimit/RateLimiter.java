@@ -0,0 +1,82 @@
+package com.reopenai.bookstore.component.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by user id.
+ * <p>
+ * A bucket is kept as a single timestamp (GCRA): a request is admitted when the timestamp plus one
+ * refill interval is not ahead of the clock, and moves it forward by that interval. The timestamp
+ * never lags the clock by more than the capacity, which is what a full bucket looks like. The whole
+ * state is one {@code long} updated with a compare-and-set, so acquiring a token takes no lock.
+ * <p>
+ * A bucket idle for longer than it takes to refill is full, so it is evicted and recreated full on
+ * the next request without changing the outcome. The buckets live in a bounded Caffeine cache.
+ * <p>
+ * Created by Allen Huang
+ */
+public class RateLimiter {
+
+    private final long interval;
+
+    private final long burst;
+
+    private final LongSupplier clock;
+
+    private final Cache<Long, AtomicLong> buckets;
+
+    /**
+     * @param limit    bucket capacity and refill rate
+     * @param maxUsers upper bound of the tracked users
+     */
+    public RateLimiter(RateLimitProperties.Limit limit, int maxUsers) {
+        this(limit, maxUsers, System::nanoTime);
+    }
+
+    /**
+     * @param limit    bucket capacity and refill rate
+     * @param maxUsers upper bound of the tracked users
+     * @param clock    current time in nanoseconds
+     */
+    public RateLimiter(RateLimitProperties.Limit limit, int maxUsers, LongSupplier clock) {
+        if (limit.getCapacity() < 1 || limit.getRefillPerSecond() <= 0) {
+            throw new IllegalArgumentException("Invalid rate limit: " + limit);
+        }
+        this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRefillPerSecond()));
+        this.burst = interval * limit.getCapacity();
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofNanos(Math.max(burst, TimeUnit.SECONDS.toNanos(1))))
+                .build();
+    }
+
+    /**
+     * Take a token from the bucket of the user
+     *
+     * @param uid user id
+     * @return 0 if a token was taken, otherwise nanoseconds until the next token is available
+     */
+    public long tryAcquire(Long uid) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(uid, key -> new AtomicLong(now - burst));
+        while (true) {
+            long current = bucket.get();
+            long next = Math.max(current, now - burst) + interval;
+            long wait = next - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+}
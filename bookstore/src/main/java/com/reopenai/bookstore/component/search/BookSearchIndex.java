@@ -0,0 +1,205 @@
+package com.reopenai.bookstore.component.search;
+
+import com.reopenai.bookstore.bean.entity.BookInfo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Title and author search index of the books.
+ * <p>
+ * The index is loaded from book_info in the background at startup and maintained by the book service once
+ * the changes are committed. It narrows a {@code LIKE '%term%'} search down to a set of candidate ids, the
+ * candidates still have to be checked against the database. Until the index is loaded, or once it holds
+ * more than {@link BookSearchProperties#getMaxBooks()} books, searches are not answered by it.
+ * <p>
+ * Created by Allen Huang
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOnDatabaseInitialization
+@EnableConfigurationProperties(BookSearchProperties.class)
+public class BookSearchIndex implements InitializingBean, DisposableBean {
+
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    private final BookSearchProperties properties;
+
+    private final NGramIndex titleIndex = new NGramIndex();
+
+    private final NGramIndex authorIndex = new NGramIndex();
+
+    /**
+     * Number of indexed books. A book added while the table is loaded may be counted twice.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    private final Sinks.Empty<Void> loaded = Sinks.empty();
+
+    private volatile boolean ready;
+
+    private Disposable loading;
+
+    @Override
+    public void afterPropertiesSet() {
+        long start = System.currentTimeMillis();
+        loading = r2dbcEntityTemplate.select(BookInfo.class)
+                .matching(Query.empty().columns("id", "title", "author"))
+                .all()
+                .doOnNext(this::add)
+                .takeWhile(book -> !overflowed.get())
+                .count()
+                .subscribe(count -> {
+                    ready = !overflowed.get();
+                    if (ready) {
+                        log.info("[BookSearchIndex]{} books indexed in {}ms", count, System.currentTimeMillis() - start);
+                    } else {
+                        log.warn("[BookSearchIndex]The catalog has more than bookstore.search.max-books={} books, " +
+                                "title and author searches scan the table", properties.getMaxBooks());
+                    }
+                    loaded.tryEmitEmpty();
+                }, e -> {
+                    log.error("[BookSearchIndex]Failed to index the books, searches scan the table", e);
+                    loaded.tryEmitError(e);
+                });
+    }
+
+    @Override
+    public void destroy() {
+        if (loading != null) {
+            loading.dispose();
+        }
+    }
+
+    /**
+     * @return completes once the books of the database are indexed
+     */
+    public Mono<Void> loaded() {
+        return loaded.asMono();
+    }
+
+    /**
+     * Index a new book
+     *
+     * @param book book information
+     */
+    public void add(BookInfo book) {
+        if (overflowed.get()) {
+            return;
+        }
+        if (size.incrementAndGet() > properties.getMaxBooks()) {
+            if (overflowed.compareAndSet(false, true)) {
+                log.warn("[BookSearchIndex]More than bookstore.search.max-books={} books, the index is dropped " +
+                        "and title and author searches scan the table", properties.getMaxBooks());
+                titleIndex.clear();
+                authorIndex.clear();
+            }
+            return;
+        }
+        titleIndex.add(book.getId(), book.getTitle());
+        authorIndex.add(book.getId(), book.getAuthor());
+    }
+
+    /**
+     * Replace the indexed title and author of a book. Grams of the previous text that still occur in the
+     * current text are kept.
+     *
+     * @param previous the book information that was indexed
+     * @param current  the book information that is indexed now
+     */
+    public void update(BookInfo previous, BookInfo current) {
+        if (overflowed.get()) {
+            return;
+        }
+        titleIndex.add(current.getId(), current.getTitle());
+        authorIndex.add(current.getId(), current.getAuthor());
+        titleIndex.remove(previous.getId(), previous.getTitle(), current.getTitle());
+        authorIndex.remove(previous.getId(), previous.getAuthor(), current.getAuthor());
+    }
+
+    /**
+     * Find the books whose title and author may match {@code LIKE '%term%'}
+     *
+     * @param title  title search term, may be null
+     * @param author author search term, may be null
+     * @return candidate ids in ascending order, or null if none of the terms can be answered by the index
+     */
+    public long[] search(String title, String author) {
+        if (!ready || overflowed.get()) {
+            return null;
+        }
+        long[] candidates = null;
+        if (StringUtils.hasText(title)) {
+            candidates = search(titleIndex, title);
+        }
+        if (StringUtils.hasText(author)) {
+            long[] authorCandidates = search(authorIndex, author);
+            if (authorCandidates != null) {
+                candidates = candidates == null ? authorCandidates : intersect(candidates, authorCandidates);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Search the literal runs of a {@code LIKE} pattern: {@code %} and {@code _} are wildcards and {@code \}
+     * escapes the next character, a matching text contains each run that is long enough for the index.
+     *
+     * @return candidate ids, or null if no run can be answered by the index
+     */
+    private static long[] search(NGramIndex index, String term) {
+        long[] candidates = null;
+        int start = 0;
+        for (int i = 0; i <= term.length(); i++) {
+            if (i < term.length() && !isLikeMetaChar(term.charAt(i))) {
+                continue;
+            }
+            String literal = term.substring(start, i);
+            if (NGramIndex.isSearchable(literal)) {
+                long[] ids = index.search(literal);
+                candidates = candidates == null ? ids : intersect(candidates, ids);
+            }
+            start = i + 1;
+        }
+        return candidates;
+    }
+
+    private static boolean isLikeMetaChar(char c) {
+        return c == '%' || c == '_' || c == '\\';
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.reopenai.bookstore.component.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Book search index configuration
+ * <p>
+ * Created by Allen Huang
+ */
+@Data
+@ConfigurationProperties("bookstore.search")
+public class BookSearchProperties {
+
+    /**
+     * Upper bound of the books held by the title and author index. A book takes about 500 bytes of heap,
+     * so the default catalog of 5 million books needs about 2.5GB. Beyond it the index is dropped and the
+     * searches scan the table with {@code LIKE}, lower it when the heap cannot hold the index.
+     */
+    private int maxBooks = 5_000_000;
+
+}
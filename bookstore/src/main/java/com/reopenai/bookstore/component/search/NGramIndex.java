@@ -0,0 +1,228 @@
+package com.reopenai.bookstore.component.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A trigram inverted index that answers case-insensitive substring queries with candidate ids.
+ * <p>
+ * Every text is lower-cased char by char and split into overlapping 3-character grams. Folding each char on its
+ * own keeps a substring of the text a substring of the folded text, which {@link String#toLowerCase} does not
+ * (e.g. the final sigma depends on the next char). Each gram keeps the sorted ids
+ * of the documents containing it. A substring query intersects the posting lists of its own grams,
+ * so the result is a superset of the exact matches: callers are expected to verify the candidates.
+ * Terms shorter than 3 characters cannot be answered by the index.
+ *
+ * @author Allen Huang
+ */
+public class NGramIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Whether the term is long enough to be answered by the index
+     *
+     * @param term search term
+     * @return true if {@link #search(String)} can be used for this term
+     */
+    public static boolean isSearchable(String term) {
+        return term != null && term.length() >= GRAM_SIZE;
+    }
+
+    /**
+     * Index the text of a document. Adding the same document twice has no effect.
+     *
+     * @param id   document id
+     * @param text document text
+     */
+    public void add(long id, String text) {
+        long[] grams = grams(text);
+        if (grams.length == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (long gram : grams) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document from the grams of the given text, except the grams that also occur in the retained text.
+     *
+     * @param id       document id
+     * @param text     the text that was indexed for the document
+     * @param retained the text that is still indexed for the document, may be null
+     */
+    public void remove(long id, String text, String retained) {
+        long[] grams = grams(text);
+        long[] retainedGrams = grams(retained);
+        lock.writeLock().lock();
+        try {
+            for (long gram : grams) {
+                if (Arrays.binarySearch(retainedGrams, gram) >= 0) {
+                    continue;
+                }
+                Postings list = postings.get(gram);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the documents whose text may contain the term, ignoring case
+     *
+     * @param term search term, at least 3 characters
+     * @return candidate ids in ascending order
+     */
+    public long[] search(String term) {
+        if (!isSearchable(term)) {
+            throw new IllegalArgumentException("The term is too short to be searched: " + term);
+        }
+        long[] grams = grams(term);
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                Postings list = postings.get(grams[i]);
+                if (list == null) {
+                    return EMPTY;
+                }
+                lists[i] = list;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+            long[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+            int size = result.length;
+            for (int i = 1; i < lists.length && size > 0; i++) {
+                size = lists[i].retainAll(result, size);
+            }
+            return size == result.length ? result : Arrays.copyOf(result, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all the documents
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of distinct grams in the index
+     */
+    public int gramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Split the text into sorted, distinct grams. Each gram packs 3 UTF-16 chars into one long.
+     */
+    private static long[] grams(String text) {
+        if (text == null || text.length() < GRAM_SIZE) {
+            return EMPTY;
+        }
+        char[] value = new char[text.length()];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = Character.toLowerCase(text.charAt(i));
+        }
+        long[] grams = new long[value.length - GRAM_SIZE + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) value[i] << 32) | ((long) value[i + 1] << 16) | value[i + 2];
+        }
+        Arrays.sort(grams);
+        int size = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[size - 1]) {
+                grams[size++] = grams[i];
+            }
+        }
+        return size == grams.length ? grams : Arrays.copyOf(grams, size);
+    }
+
+    /**
+     * Sorted ids of the documents that contain one gram
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+
+        private int size;
+
+        void add(long id) {
+            // ids are mostly increasing, so appending is the common case
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertion = -index - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Keep only the first {@code length} values of the array that are also in this list.
+         *
+         * @return the number of values kept, they are moved to the start of the array
+         */
+        int retainAll(long[] values, int length) {
+            int kept = 0;
+            for (int i = 0; i < length; i++) {
+                if (Arrays.binarySearch(ids, 0, size, values[i]) >= 0) {
+                    values[kept++] = values[i];
+                }
+            }
+            return kept;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+        }
+
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.reopenai.bookstore.component.webflux;
 
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
@@ -12,6 +14,7 @@ import reactor.core.publisher.Mono;
  * Created by Allen Huang
  */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class AuthFilter implements WebFilter {
 
     @Override
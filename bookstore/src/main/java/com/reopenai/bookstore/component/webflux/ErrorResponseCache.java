@@ -0,0 +1,169 @@
+package com.reopenai.bookstore.component.webflux;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.reopenai.bookstore.bean.ApiResponse;
+import com.reopenai.bookstore.bean.ErrorCode;
+import com.reopenai.bookstore.component.jackson.BinaryCodecConfig;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serialized error responses.
+ * <p>
+ * Most error responses are fixed for an error code and a locale, they are encoded once per format and the bytes
+ * are written to every response. JSON responses whose message is only known per request reuse the serialized
+ * bytes around the message, only the message itself is encoded.
+ * <p>
+ * The responses are encoded by the configured codecs, in the first format the {@code Accept} header asks for
+ * among JSON, CBOR and Smile, JSON by default.
+ * <p>
+ * Created by Allen Huang
+ */
+public class ErrorResponseCache {
+
+    /**
+     * Upper bound of the cached bodies, the locales and args come from the requests
+     */
+    private static final int MAX_BODIES = 1024;
+
+    private static final String MESSAGE_MARKER = "${message}";
+
+    private static final ResolvableType BODY_TYPE = ResolvableType.forClass(ApiResponse.class);
+
+    private static final List<MediaType> MEDIA_TYPES = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, BinaryCodecConfig.APPLICATION_SMILE);
+
+    private final Map<MediaType, Encoder<Object>> encoders = new LinkedHashMap<>();
+
+    private final Map<BodyKey, byte[]> bodies = new ConcurrentHashMap<>();
+
+    private final Map<ErrorCode, byte[][]> templates = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public ErrorResponseCache(ServerCodecConfigurer codecConfigurer) {
+        for (MediaType mediaType : MEDIA_TYPES) {
+            for (HttpMessageWriter<?> writer : codecConfigurer.getWriters()) {
+                if (writer instanceof EncoderHttpMessageWriter<?> encoderWriter
+                        && encoderWriter.getEncoder().canEncode(BODY_TYPE, mediaType)) {
+                    encoders.put(mediaType, (Encoder<Object>) encoderWriter.getEncoder());
+                    break;
+                }
+            }
+        }
+        if (!encoders.containsKey(MediaType.APPLICATION_JSON)) {
+            throw new IllegalStateException("No JSON encoder is configured");
+        }
+    }
+
+    /**
+     * The body of {@link ApiResponse#failure(Locale, ErrorCode, Object...)}
+     *
+     * @param exchange  current exchange
+     * @param locale    locale of the message
+     * @param errorCode error code
+     * @param args      i18n params, the body is cached if they are all strings
+     * @return response body
+     */
+    public DataBuffer failure(ServerWebExchange exchange, Locale locale, ErrorCode errorCode, String... args) {
+        MediaType mediaType = select(exchange);
+        BodyKey key = new BodyKey(mediaType, errorCode, locale, args.length == 0 ? List.of() : Arrays.asList(args));
+        byte[] body = bodies.get(key);
+        if (body == null) {
+            body = encode(mediaType, ApiResponse.failure(locale, errorCode, (Object[]) args));
+            if (bodies.size() < MAX_BODIES) {
+                bodies.putIfAbsent(key, body);
+            }
+        }
+        return write(exchange.getResponse(), mediaType, body);
+    }
+
+    /**
+     * The body of {@link ApiResponse#failureWithMessage(ErrorCode, String)}
+     *
+     * @param exchange  current exchange
+     * @param errorCode error code
+     * @param message   message of the response
+     * @return response body
+     */
+    public DataBuffer failureWithMessage(ServerWebExchange exchange, ErrorCode errorCode, String message) {
+        MediaType mediaType = select(exchange);
+        if (mediaType != MediaType.APPLICATION_JSON) {
+            return write(exchange.getResponse(), mediaType, encode(mediaType, ApiResponse.failureWithMessage(errorCode, message)));
+        }
+        byte[][] template = templates.computeIfAbsent(errorCode, this::compile);
+        byte[] encoded = JsonStringEncoder.getInstance().quoteAsUTF8(message);
+        byte[] body = new byte[template[0].length + encoded.length + template[1].length];
+        System.arraycopy(template[0], 0, body, 0, template[0].length);
+        System.arraycopy(encoded, 0, body, template[0].length, encoded.length);
+        System.arraycopy(template[1], 0, body, template[0].length + encoded.length, template[1].length);
+        return write(exchange.getResponse(), mediaType, body);
+    }
+
+    /**
+     * The first format the client accepts, JSON if it accepts none of them
+     */
+    private MediaType select(ServerWebExchange exchange) {
+        for (MediaType accepted : exchange.getRequest().getHeaders().getAccept()) {
+            if (accepted.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType mediaType : encoders.keySet()) {
+                if (accepted.includes(mediaType)) {
+                    return mediaType;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Splits the serialized JSON response around its message
+     */
+    private byte[][] compile(ErrorCode errorCode) {
+        byte[] body = encode(MediaType.APPLICATION_JSON, ApiResponse.failureWithMessage(errorCode, MESSAGE_MARKER));
+        String json = new String(body, StandardCharsets.UTF_8);
+        int index = json.indexOf(MESSAGE_MARKER);
+        return new byte[][]{
+                json.substring(0, index).getBytes(StandardCharsets.UTF_8),
+                json.substring(index + MESSAGE_MARKER.length()).getBytes(StandardCharsets.UTF_8)
+        };
+    }
+
+    private byte[] encode(MediaType mediaType, ApiResponse<?> body) {
+        DataBuffer buffer = encoders.get(mediaType)
+                .encodeValue(body, DefaultDataBufferFactory.sharedInstance, BODY_TYPE, mediaType, null);
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static DataBuffer write(ServerHttpResponse response, MediaType mediaType, byte[] body) {
+        response.getHeaders().setContentType(mediaType);
+        return response.bufferFactory().wrap(body);
+    }
+
+    private record BodyKey(MediaType mediaType, ErrorCode errorCode, Locale locale, List<String> args) {
+    }
+
+}
@@ -5,16 +5,27 @@ import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.reopenai.bookstore.bean.ApiResponse;
 import com.reopenai.bookstore.bean.ErrorCode;
 import com.reopenai.bookstore.component.exception.BusinessException;
+import com.reopenai.bookstore.component.i18n.I18nUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.R2dbcTimeoutException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.MessageSourceResolvable;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.util.MimeType;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
@@ -29,12 +40,16 @@ import org.springframework.web.method.annotation.HandlerMethodValidationExceptio
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.reactive.resource.NoResourceFoundException;
 import org.springframework.web.server.*;
+import reactor.pool.PoolAcquirePendingLimitException;
+import reactor.pool.PoolAcquireTimeoutException;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Created by Allen Huang
@@ -44,17 +59,39 @@ import java.util.StringJoiner;
 @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
 public class GlobalExceptionHandler {
 
+    public static final String ERROR_METRIC_NAME = "bookstore.errors";
+
+    /**
+     * Message of the {@link R2dbcTimeoutException} raised by r2dbc-pool when no connection became free within
+     * {@code max-acquire-time}. The validation and statement timeouts use the same exception type.
+     */
+    private static final String POOL_ACQUIRE_TIMEOUT = "Connection acquisition timed out";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Bodies of the responses that are fixed for an error code and a locale
+     */
+    private final ErrorResponseCache errorResponses;
+
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry, ServerCodecConfigurer codecConfigurer) {
+        this.meterRegistry = meterRegistry;
+        this.errorResponses = new ErrorResponseCache(codecConfigurer);
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ApiResponse<Void> methodArgumentTypeMismatchException(ServerWebExchange exchange, MethodArgumentTypeMismatchException e) {
         Locale locale = exchange.getLocaleContext().getLocale();
-        return ApiResponse.failure(locale, ErrorCode.INVALID_PARAMETER, String.format("%s=%s", e.getName(), e.getValue()));
+        return count(ApiResponse.failure(locale, ErrorCode.INVALID_PARAMETER, String.format("%s=%s", e.getName(), e.getValue())));
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(ValidationException.class)
     public ApiResponse<Void> validationException(ServerWebExchange exchange, ValidationException e) {
-        return ApiResponse.failureWithMessage(ErrorCode.FAILED_PARAMETER_CHECK, e.getMessage());
+        return count(ApiResponse.failureWithMessage(ErrorCode.FAILED_PARAMETER_CHECK, e.getMessage()));
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -64,7 +101,7 @@ public class GlobalExceptionHandler {
         for (ConstraintViolation<?> constraintViolation : e.getConstraintViolations()) {
             joiner.add(constraintViolation.getMessage());
         }
-        return ApiResponse.failureWithMessage(ErrorCode.FAILED_PARAMETER_CHECK, joiner.toString());
+        return count(ApiResponse.failureWithMessage(ErrorCode.FAILED_PARAMETER_CHECK, joiner.toString()));
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -74,22 +111,24 @@ public class GlobalExceptionHandler {
         if (result.hasErrors()) {
             StringBuilder sb = new StringBuilder();
             result.getAllErrors().forEach(err -> sb.append(err.getDefaultMessage()).append(";"));
-            return ApiResponse.failureWithMessage(ErrorCode.FAILED_PARAMETER_CHECK, sb.toString());
+            return count(ApiResponse.failureWithMessage(ErrorCode.FAILED_PARAMETER_CHECK, sb.toString()));
         }
-        return ApiResponse.failureWithMessage(ErrorCode.FAILED_PARAMETER_CHECK, error.getMessage());
+        return count(ApiResponse.failureWithMessage(ErrorCode.FAILED_PARAMETER_CHECK, error.getMessage()));
     }
 
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler(NoResourceFoundException.class)
-    public ApiResponse<Void> onNoResourceFoundException(ServerWebExchange exchange, ServerHttpRequest request) {
-        return ApiResponse.failureWithMessage(ErrorCode.NOT_FOUND, String.format("%s not found", request.getPath()));
+    public DataBuffer onNoResourceFoundException(ServerWebExchange exchange, ServerHttpRequest request) {
+        count(ErrorCode.NOT_FOUND);
+        return errorResponses.failureWithMessage(exchange, ErrorCode.NOT_FOUND, request.getPath() + " not found");
     }
 
     @ResponseStatus(HttpStatus.METHOD_NOT_ALLOWED)
     @ExceptionHandler(MethodNotAllowedException.class)
-    public ApiResponse<Void> methodNotAllowedException(ServerWebExchange exchange, MethodNotAllowedException e) {
+    public DataBuffer methodNotAllowedException(ServerWebExchange exchange, MethodNotAllowedException e) {
         Locale locale = exchange.getLocaleContext().getLocale();
-        return ApiResponse.failure(locale, ErrorCode.METHOD_NOT_ALLOWED, e.getHttpMethod());
+        count(ErrorCode.METHOD_NOT_ALLOWED);
+        return errorResponses.failure(exchange, locale, ErrorCode.METHOD_NOT_ALLOWED, e.getHttpMethod());
     }
 
 
@@ -100,15 +139,16 @@ public class GlobalExceptionHandler {
         String contentType = Optional.ofNullable(e.getContentType())
                 .map(MimeType::toString)
                 .orElse("");
-        return ApiResponse.failure(locale, ErrorCode.MEDIA_TYPE_NOT_ALLOWED, contentType);
+        return count(ApiResponse.failure(locale, ErrorCode.MEDIA_TYPE_NOT_ALLOWED, contentType));
     }
 
     // 无法接收
     @ResponseStatus(HttpStatus.NOT_ACCEPTABLE)
     @ExceptionHandler(NotAcceptableStatusException.class)
-    public ApiResponse<Void> httpMediaTypeNotAcceptableException(ServerWebExchange exchange, NotAcceptableStatusException e) {
+    public DataBuffer httpMediaTypeNotAcceptableException(ServerWebExchange exchange, NotAcceptableStatusException e) {
         Locale locale = exchange.getLocaleContext().getLocale();
-        return ApiResponse.failure(locale, ErrorCode.NOT_ACCEPTABLE, " ");
+        count(ErrorCode.NOT_ACCEPTABLE);
+        return errorResponses.failure(exchange, locale, ErrorCode.NOT_ACCEPTABLE, " ");
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -116,21 +156,25 @@ public class GlobalExceptionHandler {
     public ApiResponse<Void> missingRequestValueException(ServerWebExchange exchange, MissingRequestValueException e) {
         Locale locale = exchange.getLocaleContext().getLocale();
         Object[] args = new Object[]{e.getName(), e.getType().getSimpleName()};
-        return ApiResponse.failure(locale, ErrorCode.MISSING_REQUEST_PARAMETER, args);
+        return count(ApiResponse.failure(locale, ErrorCode.MISSING_REQUEST_PARAMETER, args));
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(ServerWebInputException.class)
-    public ApiResponse<Void> badRequest(ServerWebExchange exchange, ServerWebInputException e) {
+    public DataBuffer badRequest(ServerWebExchange exchange, ServerWebInputException e) {
         Locale locale = exchange.getLocaleContext().getLocale();
         Throwable cause = e.getCause();
         if (cause instanceof TypeMismatchException err) {
             String propertyName = err.getPropertyName();
             String values = Optional.ofNullable(err.getValue()).map(Object::toString).orElse("");
             String typeName = Optional.ofNullable(err.getRequiredType()).map(Class::getSimpleName).orElse("");
-            return ApiResponse.failure(locale, ErrorCode.PARAM_TYPE_MISMATCH, propertyName, values, typeName);
+            // the value comes from the request, only the message is encoded per request
+            String message = I18nUtil.parseLocaleMessage(locale, ErrorCode.PARAM_TYPE_MISMATCH, propertyName, values, typeName);
+            count(ErrorCode.PARAM_TYPE_MISMATCH);
+            return errorResponses.failureWithMessage(exchange, ErrorCode.PARAM_TYPE_MISMATCH, message);
         }
-        return ApiResponse.failure(locale, ErrorCode.MISSING_REQUEST_PARAMETER);
+        count(ErrorCode.MISSING_REQUEST_PARAMETER);
+        return errorResponses.failure(exchange, locale, ErrorCode.MISSING_REQUEST_PARAMETER);
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -143,7 +187,7 @@ public class GlobalExceptionHandler {
                 builder.add(resolvableError.getDefaultMessage());
             }
         }
-        return ApiResponse.failure(locale, ErrorCode.FAILED_PARAMETER_CHECK, builder.toString());
+        return count(ApiResponse.failure(locale, ErrorCode.FAILED_PARAMETER_CHECK, builder.toString()));
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -154,7 +198,7 @@ public class GlobalExceptionHandler {
         for (ObjectError allError : e.getAllErrors()) {
             builder.add(allError.getDefaultMessage());
         }
-        return ApiResponse.failure(locale, ErrorCode.FAILED_PARAMETER_CHECK, builder.toString());
+        return count(ApiResponse.failure(locale, ErrorCode.FAILED_PARAMETER_CHECK, builder.toString()));
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -170,7 +214,7 @@ public class GlobalExceptionHandler {
                     String value = Optional.ofNullable(err.getValue())
                             .map(Object::toString)
                             .orElse("");
-                    return ApiResponse.failure(locale, ErrorCode.INVALID_PARAMETER, String.format("%s:%s", fieldName, value));
+                    return count(ApiResponse.failure(locale, ErrorCode.INVALID_PARAMETER, String.format("%s:%s", fieldName, value)));
                 }
             }
         } else if (cause instanceof JsonMappingException err) {
@@ -180,19 +224,41 @@ public class GlobalExceptionHandler {
             }
             String fieldName = builder.toString();
             if (StringUtils.hasText(fieldName)) {
-                return ApiResponse.failure(locale, ErrorCode.INVALID_PARAMETER, fieldName);
+                return count(ApiResponse.failure(locale, ErrorCode.INVALID_PARAMETER, fieldName));
             }
         } else if (cause instanceof ValidationException err) {
             return validationException(exchange, err);
         }
-        return ApiResponse.failure(locale, ErrorCode.INVALID_PARAMETER, "UNKNOWN");
+        return count(ApiResponse.failure(locale, ErrorCode.INVALID_PARAMETER, "UNKNOWN"));
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(BusinessException.class)
     public ApiResponse<Object> businessHandler(ServerWebExchange exchange, BusinessException error) {
         ErrorCode errorCode = error.getErrorCode();
-        return ApiResponse.failure(exchange.getLocaleContext().getLocale(), errorCode, error.getArgs());
+        return count(ApiResponse.failure(exchange.getLocaleContext().getLocale(), errorCode, error.getArgs()));
+    }
+
+    /**
+     * Connection failures. The pool rejects the request when too many requests are already waiting for
+     * a connection, or when none became free within the acquire time: answer 429 so the client backs off.
+     * Any other failure, including the other timeouts, is a server error.
+     */
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public DataBuffer connectionFailure(ServerWebExchange exchange, Exception e) {
+        Locale locale = exchange.getLocaleContext().getLocale();
+        ServerHttpResponse response = exchange.getResponse();
+        if (isPoolSaturated(e)) {
+            log.warn("[Exception]Connection pool saturated: {}", e.getMessage());
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            count(ErrorCode.MANY_REQUEST);
+            return errorResponses.failure(exchange, locale, ErrorCode.MANY_REQUEST);
+        }
+        log.error("[Exception]Failed to obtain a connection", e);
+        response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+        count(ErrorCode.SERVER_ERROR);
+        return errorResponses.failure(exchange, locale, ErrorCode.SERVER_ERROR);
     }
 
     @ExceptionHandler(IOException.class)
@@ -200,7 +266,7 @@ public class GlobalExceptionHandler {
     public ApiResponse<Void> ioException(ServerWebExchange exchange, IOException e) {
         Locale locale = exchange.getLocaleContext().getLocale();
         log.error("[Exception]I/O Exception", e);
-        return ApiResponse.failure(locale, ErrorCode.SERVER_ERROR);
+        return count(ApiResponse.failure(locale, ErrorCode.SERVER_ERROR));
     }
 
     @ExceptionHandler(Exception.class)
@@ -208,8 +274,43 @@ public class GlobalExceptionHandler {
     public ApiResponse<Void> exceptionHandler(ServerWebExchange exchange, Exception e) {
         Locale locale = exchange.getLocaleContext().getLocale();
         log.error("caught unhandled exception.", e);
-        return ApiResponse.failure(locale, ErrorCode.SERVER_ERROR);
+        return count(ApiResponse.failure(locale, ErrorCode.SERVER_ERROR));
     }
 
+    private static boolean isPoolSaturated(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PoolAcquirePendingLimitException || cause instanceof PoolAcquireTimeoutException) {
+                return true;
+            }
+            if (cause instanceof R2dbcTimeoutException && cause.getMessage() != null
+                    && cause.getMessage().startsWith(POOL_ACQUIRE_TIMEOUT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Count the error code of the response
+     */
+    private <T> ApiResponse<T> count(ApiResponse<T> response) {
+        count(response.getCode());
+        return response;
+    }
+
+    private void count(ErrorCode errorCode) {
+        count(errorCode.getCode());
+    }
+
+    private void count(String errorCode) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            errorCounters.computeIfAbsent(errorCode, code -> Counter.builder(ERROR_METRIC_NAME)
+                            .description("Error responses by error code")
+                            .tag("code", code)
+                            .register(registry))
+                    .increment();
+        }
+    }
 
 }
@@ -3,15 +3,21 @@ package com.reopenai.bookstore.controller;
 import com.reopenai.bookstore.bean.ApiResponse;
 import com.reopenai.bookstore.bean.request.AddBookRequest;
 import com.reopenai.bookstore.bean.request.QueryBookRequest;
+import com.reopenai.bookstore.bean.request.StreamBookRequest;
 import com.reopenai.bookstore.bean.request.UpdateBookRequest;
 import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.bean.vo.BookImportVO;
+import com.reopenai.bookstore.component.cache.CatalogVersion;
 import com.reopenai.bookstore.service.BookInfoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -26,6 +32,8 @@ public class BookInfoController {
 
     private final BookInfoService bookInfoService;
 
+    private final CatalogVersion catalogVersion;
+
     @PostMapping("/v1/admin/books")
     @Operation(summary = "Add a new book")
     public Mono<ApiResponse<BookDetailVO>> addBook(@RequestBody @Valid AddBookRequest requestBody) {
@@ -40,11 +48,31 @@ public class BookInfoController {
                 .map(ApiResponse::success);
     }
 
+    @PostMapping(value = "/v1/admin/books:import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import books from a stream of NDJSON rows")
+    public Mono<ApiResponse<BookImportVO>> importBooks(@RequestBody Flux<String> requestBody,
+                                                       ServerWebExchange exchange) {
+        // read line by line, a malformed row is reported by the import instead of failing the body
+        return bookInfoService.importBooks(requestBody, exchange.getLocaleContext().getLocale())
+                .map(ApiResponse::success);
+    }
+
     @GetMapping("/v1/books")
     @Operation(summary = "Query book list")
-    public Mono<ApiResponse<List<BookDetailVO>>> queryBooks(@ParameterObject @Valid QueryBookRequest request) {
+    public Mono<ApiResponse<List<BookDetailVO>>> queryBooks(@ParameterObject @Valid QueryBookRequest request,
+                                                            ServerWebExchange exchange) {
+        if (catalogVersion.checkNotModified(exchange, "books", request.getLimit(), request.getCursor(),
+                request.getCategoryId(), request.getId(), request.getTitle(), request.getAuthor())) {
+            return Mono.empty();
+        }
         return bookInfoService.queryBooks(request)
                 .map(ApiResponse::success);
     }
 
+    @GetMapping(value = "/v1/books:stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Stream book list as NDJSON or server-sent events")
+    public Flux<BookDetailVO> streamBooks(@ParameterObject @Valid StreamBookRequest request) {
+        return bookInfoService.streamBooks(request.toQueryRequest());
+    }
+
 }
@@ -3,15 +3,20 @@ package com.reopenai.bookstore.controller;
 import com.reopenai.bookstore.bean.ApiResponse;
 import com.reopenai.bookstore.bean.request.AddBookCategoryRequest;
 import com.reopenai.bookstore.bean.request.QueryBookCategoryRequest;
+import com.reopenai.bookstore.bean.request.StreamBookCategoryRequest;
 import com.reopenai.bookstore.bean.request.UpdateBookCategoryRequest;
 import com.reopenai.bookstore.bean.vo.BookCategoryVO;
+import com.reopenai.bookstore.component.cache.CatalogVersion;
 import com.reopenai.bookstore.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -27,6 +32,8 @@ public class CategoryController {
 
     private final CategoryService categoryService;
 
+    private final CatalogVersion catalogVersion;
+
     @PostMapping("/admin/categories")
     @Operation(summary = "Create a book category record")
     public Mono<ApiResponse<BookCategoryVO>> create(@RequestBody @Valid AddBookCategoryRequest requestBody) {
@@ -43,9 +50,19 @@ public class CategoryController {
 
     @GetMapping("/categories")
     @Operation(summary = "Query Category List")
-    public Mono<ApiResponse<List<BookCategoryVO>>> query(@ParameterObject @Valid QueryBookCategoryRequest request) {
+    public Mono<ApiResponse<List<BookCategoryVO>>> query(@ParameterObject @Valid QueryBookCategoryRequest request,
+                                                         ServerWebExchange exchange) {
+        if (catalogVersion.checkNotModified(exchange, "categories", request.getLimit(), request.getCursor(), request.getId())) {
+            return Mono.empty();
+        }
         return categoryService.query(request)
                 .map(ApiResponse::success);
     }
 
+    @GetMapping(value = "/categories:stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Stream category list as NDJSON or server-sent events")
+    public Flux<BookCategoryVO> stream(@ParameterObject @Valid StreamBookCategoryRequest request) {
+        return categoryService.stream(request.toQueryRequest());
+    }
+
 }
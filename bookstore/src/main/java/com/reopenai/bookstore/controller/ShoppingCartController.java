@@ -2,8 +2,10 @@ package com.reopenai.bookstore.controller;
 
 import com.reopenai.bookstore.bean.ApiResponse;
 import com.reopenai.bookstore.bean.request.AddCartItemRequest;
+import com.reopenai.bookstore.bean.request.BatchCartItemsRequest;
 import com.reopenai.bookstore.bean.request.QueryCartItemsRequest;
 import com.reopenai.bookstore.bean.request.ReduceCartItemRequest;
+import com.reopenai.bookstore.bean.request.StreamCartItemsRequest;
 import com.reopenai.bookstore.bean.vo.CartCheckoutVO;
 import com.reopenai.bookstore.bean.vo.ShoppingCartVO;
 import com.reopenai.bookstore.component.webflux.AttrKeys;
@@ -14,7 +16,9 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -56,6 +60,15 @@ public class ShoppingCartController {
                 .map(ApiResponse::success);
     }
 
+    @PostMapping("/shopping-cart/items:batch")
+    @Operation(summary = "Add, reduce and remove several items of the shopping cart at once")
+    public Mono<ApiResponse<List<ShoppingCartVO>>> batchUpdateItems(@RequestBody @Valid BatchCartItemsRequest requestBody,
+                                                                    @RequestAttribute(AttrKeys.CURRENT_UID) Long userId) {
+        requestBody.setUserId(userId);
+        return shoppingCartService.batchUpdateItems(requestBody)
+                .map(ApiResponse::success);
+    }
+
     @GetMapping("/shopping-cart")
     @Operation(summary = "Get the list of items in the shopping cart")
     public Mono<ApiResponse<List<ShoppingCartVO>>> queryItems(@ParameterObject @Valid QueryCartItemsRequest request,
@@ -65,6 +78,14 @@ public class ShoppingCartController {
                 .map(ApiResponse::success);
     }
 
+    @GetMapping(value = "/shopping-cart:stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Stream the items in the shopping cart as NDJSON or server-sent events")
+    public Flux<ShoppingCartVO> streamItems(@ParameterObject @Valid StreamCartItemsRequest request,
+                                            @RequestAttribute(AttrKeys.CURRENT_UID) Long userId) {
+        request.setUserId(userId);
+        return shoppingCartService.streamItems(request.toQueryRequest());
+    }
+
     @PostMapping("/shopping-chart:checkout")
     @Operation(summary = "Check out all items in the shopping cart")
     public Mono<ApiResponse<CartCheckoutVO>> checkout(@RequestAttribute(AttrKeys.CURRENT_UID) Long userId) {
@@ -0,0 +1,23 @@
+package com.reopenai.bookstore.repository;
+
+import com.reopenai.bookstore.bean.entity.BookInfo;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Batched book_info writes
+ * <p>
+ * Created by Allen Huang
+ */
+public interface BookBatchRepository {
+
+    /**
+     * Insert books with a single batched statement
+     *
+     * @param books the books to insert
+     * @return the generated ids, in the order of the books
+     */
+    Flux<Long> insertAll(List<BookInfo> books);
+
+}
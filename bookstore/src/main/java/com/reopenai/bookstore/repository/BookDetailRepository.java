@@ -0,0 +1,24 @@
+package com.reopenai.bookstore.repository;
+
+import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.component.database.condition.EasyQuery;
+import reactor.core.publisher.Flux;
+
+/**
+ * Book detail queries that read book_info together with book_category
+ * <p>
+ * Created by Allen Huang
+ */
+public interface BookDetailRepository {
+
+    /**
+     * Query book details, including the category name, with a single statement that joins book_info and book_category.
+     * The conditions and sort of the query refer to the properties of {@link com.reopenai.bookstore.bean.entity.BookInfo},
+     * the SQL is compiled once per query shape.
+     *
+     * @param query query conditions, sort and limit
+     * @return book details
+     */
+    Flux<BookDetailVO> findBookDetails(EasyQuery<?, BookDetailVO> query);
+
+}
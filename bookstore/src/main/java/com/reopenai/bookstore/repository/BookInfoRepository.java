@@ -8,5 +8,5 @@ import org.springframework.stereotype.Repository;
  * Created by Allen Huang
  */
 @Repository
-public interface BookInfoRepository extends R2dbcRepository<BookInfo, Long> {
+public interface BookInfoRepository extends R2dbcRepository<BookInfo, Long>, BookDetailRepository, BookBatchRepository {
 }
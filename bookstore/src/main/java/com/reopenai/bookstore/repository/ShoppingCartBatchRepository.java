@@ -0,0 +1,59 @@
+package com.reopenai.bookstore.repository;
+
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Set-based shopping cart changes
+ * <p>
+ * Created by Allen Huang
+ */
+public interface ShoppingCartBatchRepository {
+
+    /**
+     * Apply changes to the shopping cart of a specified user with a single batched statement.
+     * Items whose quantity drops to zero are removed, items that do not exist yet are created.
+     *
+     * @param userId  userId
+     * @param changes the changes, at most one per book
+     * @param now     The time of the change
+     * @return completes once all changes have been applied
+     */
+    Mono<Void> applyChanges(Long userId, Collection<ItemChange> changes, LocalDateTime now);
+
+    /**
+     * The combined effect of a sequence of operations on the quantity q of one item:
+     * {@code max(floor, (reset ? 0 : q) + delta)}. A result that is not positive removes the item.
+     *
+     * @param bookId bookId
+     * @param reset  whether the current quantity is discarded
+     * @param delta  the quantity to add
+     * @param floor  the lower bound of the result
+     */
+    record ItemChange(Long bookId, boolean reset, long delta, long floor) {
+
+        /**
+         * @param bookId bookId
+         * @return a change that keeps the quantity
+         */
+        public static ItemChange of(Long bookId) {
+            return new ItemChange(bookId, false, 0, 0);
+        }
+
+        public ItemChange add(int quantity) {
+            return new ItemChange(bookId, reset, delta + quantity, floor + quantity);
+        }
+
+        public ItemChange reduce(int quantity) {
+            return new ItemChange(bookId, reset, delta - quantity, Math.max(0, floor - quantity));
+        }
+
+        public ItemChange remove() {
+            return new ItemChange(bookId, true, 0, 0);
+        }
+
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.reopenai.bookstore.repository;
+
+import com.reopenai.bookstore.bean.vo.CartCheckoutVO;
+import reactor.core.publisher.Mono;
+
+/**
+ * Shopping cart checkout query that reads shopping_cart together with book_info
+ * <p>
+ * Created by Allen Huang
+ */
+public interface ShoppingCartCheckoutRepository {
+
+    /**
+     * Get the items of the shopping cart of a specified user with their prices and the total price,
+     * with a single statement that joins shopping_cart and book_info. Items whose book no longer
+     * exists are left out.
+     *
+     * @param userId userId
+     * @return Settlement Details, empty if there is nothing to check out
+     */
+    Mono<CartCheckoutVO> findCheckout(Long userId);
+
+}
@@ -0,0 +1,107 @@
+package com.reopenai.bookstore.repository;
+
+import com.reopenai.bookstore.bean.entity.ShoppingCart;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * The single statement updates read the changed rows back with the data change delta tables of H2
+ * ({@code SELECT * FROM FINAL TABLE (...)} and {@code OLD TABLE}) and upsert with {@code MERGE ... USING}.
+ * They need to be rewritten for another database, e.g. with {@code INSERT ... ON CONFLICT ... RETURNING} on PostgreSQL.
+ * <p>
+ * Created by Allen Huang
+ */
+@Repository
+public interface ShoppingCartRepository extends R2dbcRepository<ShoppingCart, Long>, ShoppingCartBatchRepository,
+        ShoppingCartCheckoutRepository {
+
+    /**
+     * Remove a record based on userId and bookId
+     *
+     * @param userId userId
+     * @param bookId bookId
+     * @return The number of entries to remove
+     */
+    Mono<Integer> removeByUserIdAndBookId(Long userId, Long bookId);
+
+    /**
+     * Get a list of all items in the shopping cart of a specified user
+     *
+     * @param userId userId
+     * @return List of items in the shopping cart
+     */
+    Flux<ShoppingCart> findAllByUserId(Long userId);
+
+    /**
+     * Get the details of a product in the shopping cart of a specified user
+     *
+     * @param userId userId
+     * @param bookId bookId
+     * @return Details of an item in the shopping cart
+     */
+    Mono<ShoppingCart> findByUserIdAndBookId(Long userId, Long bookId);
+
+    /**
+     * Add a quantity of a book to the shopping cart of a specified user in a single statement.
+     * The item is created if it is not in the shopping cart yet.
+     *
+     * @param userId   userId
+     * @param bookId   bookId
+     * @param quantity The quantity to add
+     * @param now      The time of the change
+     * @return Details of the item after the change
+     */
+    @Query("""
+            SELECT * FROM FINAL TABLE (
+                MERGE INTO shopping_cart t
+                USING (VALUES (CAST(:userId AS BIGINT), CAST(:bookId AS BIGINT))) s (user_id, book_id)
+                ON t.user_id = s.user_id AND t.book_id = s.book_id
+                WHEN MATCHED THEN
+                    UPDATE SET quantity = t.quantity + :quantity, updated_time = :now
+                WHEN NOT MATCHED THEN
+                    INSERT (user_id, book_id, quantity, created_time, updated_time)
+                    VALUES (s.user_id, s.book_id, :quantity, :now, :now)
+            )
+            """)
+    Mono<ShoppingCart> upsertQuantity(Long userId, Long bookId, Integer quantity, LocalDateTime now);
+
+    /**
+     * Reduce the quantity of a book in the shopping cart of a specified user, if more than the
+     * given quantity is left
+     *
+     * @param userId   userId
+     * @param bookId   bookId
+     * @param quantity The quantity to reduce
+     * @param now      The time of the change
+     * @return Details of the item after the change, empty if the item does not exist or does not have enough left
+     */
+    @Query("""
+            SELECT * FROM FINAL TABLE (
+                UPDATE shopping_cart SET quantity = quantity - :quantity, updated_time = :now
+                WHERE user_id = :userId AND book_id = :bookId AND quantity > :quantity
+            )
+            """)
+    Mono<ShoppingCart> decreaseQuantity(Long userId, Long bookId, Integer quantity, LocalDateTime now);
+
+    /**
+     * Remove a book from the shopping cart of a specified user, if no more than the given quantity is left
+     *
+     * @param userId   userId
+     * @param bookId   bookId
+     * @param quantity The quantity to reduce
+     * @return Details of the item before it was removed, empty if nothing was removed
+     */
+    @Query("""
+            SELECT * FROM OLD TABLE (
+                DELETE FROM shopping_cart
+                WHERE user_id = :userId AND book_id = :bookId AND quantity <= :quantity
+            )
+            """)
+    Mono<ShoppingCart> removeIfNotMoreThan(Long userId, Long bookId, Integer quantity);
+
+}
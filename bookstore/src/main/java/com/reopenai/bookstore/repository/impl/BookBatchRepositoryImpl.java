@@ -0,0 +1,48 @@
+package com.reopenai.bookstore.repository.impl;
+
+import com.reopenai.bookstore.bean.entity.BookInfo;
+import com.reopenai.bookstore.repository.BookBatchRepository;
+import io.r2dbc.spi.Statement;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Created by Allen Huang
+ */
+public class BookBatchRepositoryImpl implements BookBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO book_info (category_id, title, author, price) VALUES ($1, $2, $3, $4)";
+
+    private final DatabaseClient databaseClient;
+
+    public BookBatchRepositoryImpl(R2dbcEntityTemplate template) {
+        this.databaseClient = template.getDatabaseClient();
+    }
+
+    @Override
+    public Flux<Long> insertAll(List<BookInfo> books) {
+        if (books.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(INSERT_SQL)
+                    .returnGeneratedValues("id");
+            for (int i = 0; i < books.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                BookInfo book = books.get(i);
+                statement.bind(0, book.getCategoryId())
+                        .bind(1, book.getTitle())
+                        .bind(2, book.getAuthor())
+                        .bind(3, book.getPrice().toBigDecimal());
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> result.map(row -> row.get("id", Long.class)));
+        });
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.reopenai.bookstore.repository.impl;
+
+import com.reopenai.bookstore.bean.Money;
+import com.reopenai.bookstore.bean.entity.BookCategory;
+import com.reopenai.bookstore.bean.entity.BookInfo;
+import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.component.database.condition.CompiledSelect;
+import com.reopenai.bookstore.component.database.condition.EasyQuery;
+import com.reopenai.bookstore.repository.BookDetailRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.sql.*;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Created by Allen Huang
+ */
+public class BookDetailRepositoryImpl implements BookDetailRepository {
+
+    private static final String CATEGORY_NAME = "category_name";
+
+    private final Table categoryTable;
+
+    private final CompiledSelect compiledSelect;
+
+    public BookDetailRepositoryImpl(R2dbcEntityTemplate template) {
+        this.categoryTable = Table.create(template.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(BookCategory.class)
+                .getQualifiedTableName());
+        this.compiledSelect = new CompiledSelect(template, BookInfo.class, this::select);
+    }
+
+    @Override
+    public Flux<BookDetailVO> findBookDetails(EasyQuery<?, BookDetailVO> query) {
+        return compiledSelect.select(query, (row, metadata) -> toBookDetail(row));
+    }
+
+    private Select select(Table bookTable, List<Expression> columns, Condition condition, List<OrderByField> orderBy) {
+        SelectBuilder.SelectFromAndJoin builder = StatementBuilder.select(
+                        bookTable.column("id"),
+                        bookTable.column("title"),
+                        bookTable.column("author"),
+                        bookTable.column("price"),
+                        bookTable.column("category_id"),
+                        categoryTable.column("name").as(CATEGORY_NAME))
+                .from(bookTable);
+        if (condition != null) {
+            builder.where(condition);
+        }
+        if (!orderBy.isEmpty()) {
+            builder.orderBy(orderBy);
+        }
+        // the join is appended last, the join builder finishes the statement
+        return builder.leftOuterJoin(categoryTable)
+                .on(bookTable.column("category_id")).equals(categoryTable.column("id"))
+                .build();
+    }
+
+    private BookDetailVO toBookDetail(Readable row) {
+        BookDetailVO detail = new BookDetailVO();
+        detail.setId(row.get("id", Long.class));
+        detail.setTitle(row.get("title", String.class));
+        detail.setAuthor(row.get("author", String.class));
+        BigDecimal price = row.get("price", BigDecimal.class);
+        detail.setPrice(price == null ? null : Money.of(price));
+        detail.setCategoryId(row.get("category_id", Long.class));
+        detail.setCategoryName(row.get(CATEGORY_NAME, String.class));
+        return detail;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.reopenai.bookstore.repository.impl;
+
+import com.reopenai.bookstore.repository.ShoppingCartBatchRepository;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Created by Allen Huang
+ */
+public class ShoppingCartBatchRepositoryImpl implements ShoppingCartBatchRepository {
+
+    private static final String NEW_QUANTITY = "GREATEST(s.floor, CASE WHEN s.reset THEN 0 ELSE t.quantity END + s.delta)";
+
+    private static final String APPLY_CHANGE_SQL = """
+            MERGE INTO shopping_cart t
+            USING (VALUES (CAST($1 AS BIGINT), CAST($2 AS BIGINT), CAST($3 AS BOOLEAN), CAST($4 AS BIGINT), CAST($5 AS BIGINT)))
+                s (user_id, book_id, reset, delta, floor)
+            ON t.user_id = s.user_id AND t.book_id = s.book_id
+            WHEN MATCHED AND %1$s <= 0 THEN
+                DELETE
+            WHEN MATCHED THEN
+                UPDATE SET quantity = %1$s, updated_time = $6
+            WHEN NOT MATCHED AND GREATEST(s.floor, s.delta) > 0 THEN
+                INSERT (user_id, book_id, quantity, created_time, updated_time)
+                VALUES (s.user_id, s.book_id, GREATEST(s.floor, s.delta), $6, $6)
+            """.formatted(NEW_QUANTITY);
+
+    private final DatabaseClient databaseClient;
+
+    public ShoppingCartBatchRepositoryImpl(R2dbcEntityTemplate template) {
+        this.databaseClient = template.getDatabaseClient();
+    }
+
+    @Override
+    public Mono<Void> applyChanges(Long userId, Collection<ItemChange> changes, LocalDateTime now) {
+        if (changes.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(APPLY_CHANGE_SQL);
+                    Iterator<ItemChange> iterator = changes.iterator();
+                    while (iterator.hasNext()) {
+                        ItemChange change = iterator.next();
+                        statement.bind(0, userId)
+                                .bind(1, change.bookId())
+                                .bind(2, change.reset())
+                                .bind(3, change.delta())
+                                .bind(4, change.floor())
+                                .bind(5, now);
+                        if (iterator.hasNext()) {
+                            statement.add();
+                        }
+                    }
+                    return Flux.from(statement.execute())
+                            .flatMap(Result::getRowsUpdated);
+                })
+                .then();
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.reopenai.bookstore.repository.impl;
+
+import com.reopenai.bookstore.bean.Money;
+import com.reopenai.bookstore.bean.vo.CartCheckoutVO;
+import com.reopenai.bookstore.bean.vo.SimpleCartItemVO;
+import com.reopenai.bookstore.repository.ShoppingCartCheckoutRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by Allen Huang
+ */
+public class ShoppingCartCheckoutRepositoryImpl implements ShoppingCartCheckoutRepository {
+
+    /**
+     * Price in minor units, the scale of the price column equals {@link Money#SCALE} so the cast is exact
+     */
+    private static final String MINOR_PRICE = "CAST(b.price * " + Money.MINOR_UNITS + " AS BIGINT)";
+
+    private static final String CHECKOUT_SQL = """
+            SELECT b.id AS book_id, b.title, b.author, c.quantity,
+                   %1$s AS price,
+                   %1$s * c.quantity AS total_price,
+                   CAST(SUM(%1$s * c.quantity) OVER () AS BIGINT) AS cart_total_price
+            FROM shopping_cart c
+            INNER JOIN book_info b ON b.id = c.book_id
+            WHERE c.user_id = $1
+            ORDER BY c.id
+            """.formatted(MINOR_PRICE);
+
+    private final DatabaseClient databaseClient;
+
+    public ShoppingCartCheckoutRepositoryImpl(R2dbcEntityTemplate template) {
+        this.databaseClient = template.getDatabaseClient();
+    }
+
+    @Override
+    public Mono<CartCheckoutVO> findCheckout(Long userId) {
+        return databaseClient.sql(CHECKOUT_SQL)
+                .bind(0, userId)
+                .map(CheckoutRow::from)
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(rows -> {
+                    List<SimpleCartItemVO> items = new ArrayList<>(rows.size());
+                    for (CheckoutRow row : rows) {
+                        items.add(row.item());
+                    }
+                    CartCheckoutVO result = new CartCheckoutVO();
+                    result.setItems(items);
+                    result.setTotalPrice(rows.get(0).cartTotalPrice());
+                    return result;
+                });
+    }
+
+    private record CheckoutRow(SimpleCartItemVO item, Money cartTotalPrice) {
+
+        static CheckoutRow from(Readable row) {
+            SimpleCartItemVO item = new SimpleCartItemVO();
+            item.setBookId(row.get("book_id", Long.class));
+            item.setTitle(row.get("title", String.class));
+            item.setAuthor(row.get("author", String.class));
+            item.setPrice(Money.ofMinorUnits(row.get("price", Long.class)));
+            item.setQuantity(row.get("quantity", Integer.class));
+            item.setTotalPrice(Money.ofMinorUnits(row.get("total_price", Long.class)));
+            return new CheckoutRow(item, Money.ofMinorUnits(row.get("cart_total_price", Long.class)));
+        }
+
+    }
+
+}
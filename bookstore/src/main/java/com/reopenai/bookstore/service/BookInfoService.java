@@ -4,9 +4,12 @@ import com.reopenai.bookstore.bean.request.AddBookRequest;
 import com.reopenai.bookstore.bean.request.QueryBookRequest;
 import com.reopenai.bookstore.bean.request.UpdateBookRequest;
 import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.bean.vo.BookImportVO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Created by Allen Huang
@@ -29,6 +32,16 @@ public interface BookInfoService {
      */
     Mono<BookDetailVO> updateBook(UpdateBookRequest request);
 
+    /**
+     * Import books in batches. Each line holds one book as JSON. Rows that cannot be read, fail validation
+     * or refer to a missing category are reported and skipped, the rest of the import goes on.
+     *
+     * @param lines  the NDJSON lines of the books to import
+     * @param locale locale of the failure messages
+     * @return import summary
+     */
+    Mono<BookImportVO> importBooks(Flux<String> lines, Locale locale);
+
     /**
      * Query the book information list
      *
@@ -37,4 +50,12 @@ public interface BookInfoService {
      */
     Mono<List<BookDetailVO>> queryBooks(QueryBookRequest request);
 
+    /**
+     * Query the book information list, the books are emitted as they are read
+     *
+     * @param request query request parameters
+     * @return books
+     */
+    Flux<BookDetailVO> streamBooks(QueryBookRequest request);
+
 }
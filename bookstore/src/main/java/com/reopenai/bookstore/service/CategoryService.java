@@ -4,6 +4,7 @@ import com.reopenai.bookstore.bean.request.AddBookCategoryRequest;
 import com.reopenai.bookstore.bean.request.QueryBookCategoryRequest;
 import com.reopenai.bookstore.bean.request.UpdateBookCategoryRequest;
 import com.reopenai.bookstore.bean.vo.BookCategoryVO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -37,4 +38,12 @@ public interface CategoryService {
      */
     Mono<List<BookCategoryVO>> query(QueryBookCategoryRequest request);
 
+    /**
+     * Query the book category information list, the categories are emitted as they are read
+     *
+     * @param request query request parameters
+     * @return category information details
+     */
+    Flux<BookCategoryVO> stream(QueryBookCategoryRequest request);
+
 }
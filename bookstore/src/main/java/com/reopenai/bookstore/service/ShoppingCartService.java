@@ -1,10 +1,12 @@
 package com.reopenai.bookstore.service;
 
 import com.reopenai.bookstore.bean.request.AddCartItemRequest;
+import com.reopenai.bookstore.bean.request.BatchCartItemsRequest;
 import com.reopenai.bookstore.bean.request.QueryCartItemsRequest;
 import com.reopenai.bookstore.bean.request.ReduceCartItemRequest;
 import com.reopenai.bookstore.bean.vo.CartCheckoutVO;
 import com.reopenai.bookstore.bean.vo.ShoppingCartVO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -30,6 +32,14 @@ public interface ShoppingCartService {
      */
     Mono<List<ShoppingCartVO>> queryItems(QueryCartItemsRequest request);
 
+    /**
+     * Query the items in the shopping cart, the items are emitted as they are read
+     *
+     * @param request Query request parameters
+     * @return Items in the shopping cart
+     */
+    Flux<ShoppingCartVO> streamItems(QueryCartItemsRequest request);
+
     /**
      * Remove a book from your shopping cart
      *
@@ -55,4 +65,12 @@ public interface ShoppingCartService {
      */
     Mono<CartCheckoutVO> checkout(Long userId);
 
+    /**
+     * Apply a batch of add, reduce and remove operations to the shopping cart in one transaction
+     *
+     * @param request batch request
+     * @return All items in the shopping cart after the change
+     */
+    Mono<List<ShoppingCartVO>> batchUpdateItems(BatchCartItemsRequest request);
+
 }
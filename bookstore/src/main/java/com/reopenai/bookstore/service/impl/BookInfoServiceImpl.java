@@ -0,0 +1,299 @@
+package com.reopenai.bookstore.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reopenai.bookstore.bean.ErrorCode;
+import com.reopenai.bookstore.bean.Money;
+import com.reopenai.bookstore.bean.entity.BookInfo;
+import com.reopenai.bookstore.bean.request.AddBookRequest;
+import com.reopenai.bookstore.bean.request.QueryBookRequest;
+import com.reopenai.bookstore.bean.request.UpdateBookRequest;
+import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.bean.vo.BookDetailVO_;
+import com.reopenai.bookstore.bean.vo.BookImportFailureVO;
+import com.reopenai.bookstore.bean.vo.BookImportVO;
+import com.reopenai.bookstore.component.cache.BookCategoryCache;
+import com.reopenai.bookstore.component.cache.BookInfoCache;
+import com.reopenai.bookstore.component.cache.CatalogVersion;
+import com.reopenai.bookstore.component.database.ConnectionRouting;
+import com.reopenai.bookstore.component.database.TransactionUtil;
+import com.reopenai.bookstore.component.database.condition.LambdaEaseQuery;
+import com.reopenai.bookstore.component.exception.BusinessException;
+import com.reopenai.bookstore.component.i18n.I18nUtil;
+import com.reopenai.bookstore.component.search.BookSearchIndex;
+import com.reopenai.bookstore.repository.BookCategoryRepository;
+import com.reopenai.bookstore.repository.BookInfoRepository;
+import com.reopenai.bookstore.service.BookInfoService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Created by Allen Huang
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookInfoServiceImpl implements BookInfoService {
+
+    /**
+     * Number of search candidates checked against the database per statement
+     */
+    private static final int CANDIDATE_BATCH_SIZE = 512;
+
+    /**
+     * Number of imported books inserted per statement and transaction
+     */
+    private static final int IMPORT_BATCH_SIZE = 500;
+
+    /**
+     * Maximum number of failed rows reported by an import
+     */
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final BookCategoryRepository bookCategoryRepository;
+
+    private final BookInfoRepository bookInfoRepository;
+
+    private final BookCategoryCache bookCategoryCache;
+
+    private final BookInfoCache bookInfoCache;
+
+    private final BookSearchIndex bookSearchIndex;
+
+    private final CatalogVersion catalogVersion;
+
+    private final Validator validator;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final ObjectMapper objectMapper;
+
+    @Transactional(rollbackFor = Exception.class)
+    public Mono<BookDetailVO> addBook(AddBookRequest request) {
+        Long categoryId = request.getCategoryId();
+        return bookCategoryRepository.existsById(categoryId)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return Mono.error(new BusinessException(ErrorCode.DATA_NOT_FOUND, "categoryId=" + categoryId));
+                    }
+                    BookInfo bookInfo = new BookInfo();
+                    bookInfo.setCategoryId(categoryId);
+                    bookInfo.setTitle(request.getTitle());
+                    bookInfo.setPrice(Money.of(request.getPrice()));
+                    bookInfo.setAuthor(request.getAuthor());
+                    return bookInfoRepository.save(bookInfo)
+                            .flatMap(saved -> TransactionUtil.afterCommit(() -> {
+                                bookSearchIndex.add(saved);
+                                catalogVersion.bump();
+                            }).thenReturn(saved))
+                            .flatMap(this::converterBookDetailVO);
+                });
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public Mono<BookDetailVO> updateBook(UpdateBookRequest request) {
+        return bookInfoRepository.findById(request.getId())
+                .flatMap(entity -> {
+                    Long categoryId = request.getCategoryId();
+                    return bookCategoryRepository.existsById(categoryId)
+                            .flatMap(exists -> {
+                                if (!exists) {
+                                    return Mono.error(new BusinessException(ErrorCode.DATA_NOT_FOUND, "categoryId=" + categoryId));
+                                }
+                                BookInfo previous = new BookInfo();
+                                previous.setId(entity.getId());
+                                previous.setTitle(entity.getTitle());
+                                previous.setAuthor(entity.getAuthor());
+                                entity.setPrice(Money.of(request.getPrice()));
+                                entity.setTitle(request.getTitle());
+                                entity.setAuthor(request.getAuthor());
+                                return bookInfoRepository.save(entity)
+                                        .flatMap(saved -> TransactionUtil.afterCommit(() -> {
+                                                    bookSearchIndex.update(previous, saved);
+                                                    bookInfoCache.invalidate(saved.getId());
+                                                    catalogVersion.bump();
+                                                }).thenReturn(saved));
+                            });
+                })
+                .flatMap(this::converterBookDetailVO)
+                .switchIfEmpty(Mono.create(sink ->
+                        sink.error(new BusinessException(ErrorCode.DATA_NOT_FOUND, "id=" + request.getId()))
+                ));
+    }
+
+    public Mono<BookImportVO> importBooks(Flux<String> lines, Locale locale) {
+        // rows are numbered by line, blank lines are skipped
+        return lines.index()
+                .filter(line -> StringUtils.hasText(line.getT2()))
+                .buffer(IMPORT_BATCH_SIZE)
+                .concatMap(rows -> importBatch(rows, locale))
+                .reduceWith(BookImportVO::new, (summary, batch) -> {
+                    summary.setTotal(summary.getTotal() + batch.getTotal());
+                    summary.setImported(summary.getImported() + batch.getImported());
+                    summary.setFailed(summary.getFailed() + batch.getFailed());
+                    List<BookImportFailureVO> failures = summary.getFailures();
+                    for (BookImportFailureVO failure : batch.getFailures()) {
+                        if (failures.size() >= MAX_REPORTED_FAILURES) {
+                            break;
+                        }
+                        failures.add(failure);
+                    }
+                    return summary;
+                });
+    }
+
+    private Mono<BookImportVO> importBatch(List<Tuple2<Long, String>> rows, Locale locale) {
+        BookImportVO result = new BookImportVO();
+        result.setTotal(rows.size());
+        List<Tuple2<Long, AddBookRequest>> validRows = new ArrayList<>(rows.size());
+        for (Tuple2<Long, String> row : rows) {
+            AddBookRequest request;
+            try {
+                request = objectMapper.readValue(row.getT2(), AddBookRequest.class);
+            } catch (JsonProcessingException e) {
+                result.getFailures().add(new BookImportFailureVO(row.getT1() + 1, ErrorCode.FAILED_PARAMETER_CHECK.getCode(), e.getOriginalMessage()));
+                continue;
+            }
+            if (request == null) {
+                String message = I18nUtil.parseLocaleMessage(locale, ErrorCode.INVALID_PARAMETER, row.getT2());
+                result.getFailures().add(new BookImportFailureVO(row.getT1() + 1, ErrorCode.INVALID_PARAMETER.getCode(), message));
+                continue;
+            }
+            Set<ConstraintViolation<AddBookRequest>> violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                validRows.add(Tuples.of(row.getT1(), request));
+            } else {
+                String message = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining(";"));
+                result.getFailures().add(new BookImportFailureVO(row.getT1() + 1, ErrorCode.FAILED_PARAMETER_CHECK.getCode(), message));
+            }
+        }
+        Set<Long> categoryIds = validRows.stream()
+                .map(row -> row.getT2().getCategoryId())
+                .collect(Collectors.toSet());
+        return bookCategoryCache.getNames(categoryIds)
+                .flatMap(categories -> {
+                    List<Long> bookRows = new ArrayList<>(validRows.size());
+                    List<BookInfo> books = new ArrayList<>(validRows.size());
+                    for (Tuple2<Long, AddBookRequest> row : validRows) {
+                        AddBookRequest request = row.getT2();
+                        if (!categories.containsKey(request.getCategoryId())) {
+                            String message = I18nUtil.parseLocaleMessage(locale, ErrorCode.DATA_NOT_FOUND, "categoryId=" + request.getCategoryId());
+                            result.getFailures().add(new BookImportFailureVO(row.getT1() + 1, ErrorCode.DATA_NOT_FOUND.getCode(), message));
+                            continue;
+                        }
+                        BookInfo bookInfo = new BookInfo();
+                        bookInfo.setCategoryId(request.getCategoryId());
+                        bookInfo.setTitle(request.getTitle());
+                        bookInfo.setPrice(Money.of(request.getPrice()));
+                        bookInfo.setAuthor(request.getAuthor());
+                        books.add(bookInfo);
+                        bookRows.add(row.getT1() + 1);
+                    }
+                    return insertBooks(books)
+                            .onErrorResume(e -> {
+                                log.error("[BookImport]Failed to insert rows {}-{}", bookRows.get(0), bookRows.get(bookRows.size() - 1), e);
+                                String message = I18nUtil.parseLocaleMessage(locale, ErrorCode.SERVER_ERROR);
+                                for (Long row : bookRows) {
+                                    result.getFailures().add(new BookImportFailureVO(row, ErrorCode.SERVER_ERROR.getCode(), message));
+                                }
+                                return Mono.just(0);
+                            });
+                })
+                .map(imported -> {
+                    result.setImported(imported);
+                    result.setFailed(result.getFailures().size());
+                    result.getFailures().sort(Comparator.comparingLong(BookImportFailureVO::getRow));
+                    return result;
+                });
+    }
+
+    private Mono<Integer> insertBooks(List<BookInfo> books) {
+        if (books.isEmpty()) {
+            return Mono.just(0);
+        }
+        return bookInfoRepository.insertAll(books)
+                .index()
+                .doOnNext(id -> books.get(id.getT1().intValue()).setId(id.getT2()))
+                .then(TransactionUtil.afterCommit(() -> {
+                    books.forEach(bookSearchIndex::add);
+                    catalogVersion.bump();
+                }))
+                .thenReturn(books.size())
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<List<BookDetailVO>> queryBooks(QueryBookRequest request) {
+        return streamBooks(request)
+                .collectList();
+    }
+
+    public Flux<BookDetailVO> streamBooks(QueryBookRequest request) {
+        long[] candidates = bookSearchIndex.search(request.getTitle(), request.getAuthor());
+        if (candidates == null) {
+            return ConnectionRouting.read(bookInfoRepository.findBookDetails(buildQuery(request, null)));
+        }
+        if (candidates.length == 0) {
+            return Flux.empty();
+        }
+        // candidates are checked newest first, one batch at a time, until the page is full
+        return ConnectionRouting.read(candidateBatches(candidates, request.getCursor())
+                .concatMap(ids -> bookInfoRepository.findBookDetails(buildQuery(request, ids)))
+                .take(request.getLimit()));
+    }
+
+    private LambdaEaseQuery<BookDetailVO> buildQuery(QueryBookRequest request, List<Long> candidateIds) {
+        return new LambdaEaseQuery<BookDetailVO>()
+                .in(candidateIds != null, BookDetailVO_.ID, candidateIds)
+                .eq(request.getId() != null, BookDetailVO_.ID, request.getId())
+                .lt(request.getCursor() != null, BookDetailVO_.ID, request.getCursor())
+                .like(StringUtils.hasText(request.getTitle()), BookDetailVO_.TITLE, request.getTitle())
+                .like(StringUtils.hasText(request.getAuthor()), BookDetailVO_.AUTHOR, request.getAuthor())
+                .eq(request.getCategoryId() != null, BookDetailVO_.CATEGORY_ID, request.getCategoryId())
+                .orderByDesc(BookDetailVO_.ID)
+                .limit(request.getLimit());
+    }
+
+    private Flux<List<Long>> candidateBatches(long[] candidates, Long cursor) {
+        int index = cursor == null ? candidates.length : Arrays.binarySearch(candidates, cursor);
+        int end = index >= 0 ? index : -index - 1;
+        return Flux.generate(() -> end, (position, sink) -> {
+            if (position == 0) {
+                sink.complete();
+                return position;
+            }
+            int from = Math.max(0, position - CANDIDATE_BATCH_SIZE);
+            List<Long> ids = new ArrayList<>(position - from);
+            for (int i = position - 1; i >= from; i--) {
+                ids.add(candidates[i]);
+            }
+            sink.next(ids);
+            return from;
+        });
+    }
+
+    private Mono<BookDetailVO> converterBookDetailVO(BookInfo bookInfo) {
+        return bookCategoryCache.getName(bookInfo.getCategoryId())
+                .defaultIfEmpty("")
+                .map(categoryName -> {
+                    BookDetailVO result = BookDetailVO.from(bookInfo);
+                    result.setCategoryName(categoryName);
+                    return result;
+                });
+    }
+
+}
@@ -6,16 +6,17 @@ import com.reopenai.bookstore.bean.request.AddBookCategoryRequest;
 import com.reopenai.bookstore.bean.request.QueryBookCategoryRequest;
 import com.reopenai.bookstore.bean.request.UpdateBookCategoryRequest;
 import com.reopenai.bookstore.bean.vo.BookCategoryVO;
-import com.reopenai.bookstore.component.database.condition.LambdaEaseQuery;
+import com.reopenai.bookstore.component.cache.BookCategoryCache;
+import com.reopenai.bookstore.component.cache.CatalogVersion;
+import com.reopenai.bookstore.component.database.TransactionUtil;
 import com.reopenai.bookstore.component.exception.BusinessException;
 import com.reopenai.bookstore.repository.BookCategoryRepository;
 import com.reopenai.bookstore.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
-import org.springframework.data.relational.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
@@ -29,10 +30,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
 
-    private final R2dbcEntityTemplate template;
-
     private final BookCategoryRepository bookCategoryRepository;
 
+    private final BookCategoryCache bookCategoryCache;
+
+    private final CatalogVersion catalogVersion;
+
     @Transactional(rollbackFor = Exception.class)
     public Mono<BookCategoryVO> create(AddBookCategoryRequest request) {
         String name = request.getName();
@@ -50,6 +53,7 @@ public class CategoryServiceImpl implements CategoryService {
                     entity.setUpdatedTime(entity.getCreatedTime());
                     return bookCategoryRepository.save(entity);
                 })
+                .flatMap(this::publishToCache)
                 .map(BookCategoryVO::from);
     }
 
@@ -70,22 +74,29 @@ public class CategoryServiceImpl implements CategoryService {
                                 }
                                 entity.setName(name);
                                 entity.setUpdatedTime(LocalDateTime.now());
-                                return bookCategoryRepository.save(entity);
+                                return bookCategoryRepository.save(entity)
+                                        .flatMap(this::publishToCache);
                             });
                 })
                 .map(BookCategoryVO::from);
     }
 
-
+    // listings are answered from the cache, which holds every category
     public Mono<List<BookCategoryVO>> query(QueryBookCategoryRequest request) {
-        Query query = new LambdaEaseQuery<BookCategory>()
-                .eq(request.getId() != null, BookCategory::getId, request.getId())
-                .lt(request.getCursor() != null, BookCategory::getId, request.getCursor())
-                .orderByDesc(BookCategory::getId)
-                .asQuery().limit(request.getLimit());
-        return template.select(query, BookCategory.class)
-                .map(BookCategoryVO::from)
-                .collectList();
+        return Mono.fromSupplier(() -> bookCategoryCache.list(request.getId(), request.getCursor(), request.getLimit()));
+    }
+
+    public Flux<BookCategoryVO> stream(QueryBookCategoryRequest request) {
+        return query(request)
+                .flatMapIterable(categories -> categories);
+    }
+
+    private Mono<BookCategory> publishToCache(BookCategory entity) {
+        return TransactionUtil.afterCommit(() -> {
+                    bookCategoryCache.put(entity);
+                    catalogVersion.bump();
+                })
+                .thenReturn(entity);
     }
 
 }
@@ -0,0 +1,221 @@
+package com.reopenai.bookstore.service.impl;
+
+import com.reopenai.bookstore.bean.ErrorCode;
+import com.reopenai.bookstore.bean.Money;
+import com.reopenai.bookstore.bean.entity.BookInfo;
+import com.reopenai.bookstore.bean.entity.ShoppingCart;
+import com.reopenai.bookstore.bean.entity.ShoppingCart_;
+import com.reopenai.bookstore.bean.request.AddCartItemRequest;
+import com.reopenai.bookstore.bean.request.BatchCartItemsRequest;
+import com.reopenai.bookstore.bean.request.CartItemOperation;
+import com.reopenai.bookstore.bean.request.QueryCartItemsRequest;
+import com.reopenai.bookstore.bean.request.ReduceCartItemRequest;
+import com.reopenai.bookstore.bean.vo.CartCheckoutVO;
+import com.reopenai.bookstore.bean.vo.ShoppingCartVO;
+import com.reopenai.bookstore.bean.vo.SimpleBookInfoVO;
+import com.reopenai.bookstore.component.cache.BookInfoCache;
+import com.reopenai.bookstore.component.database.ConnectionRouting;
+import com.reopenai.bookstore.component.database.EasyQueryTemplate;
+import com.reopenai.bookstore.component.database.condition.LambdaEaseQuery;
+import com.reopenai.bookstore.component.exception.BusinessException;
+import com.reopenai.bookstore.repository.ShoppingCartBatchRepository.ItemChange;
+import com.reopenai.bookstore.repository.ShoppingCartRepository;
+import com.reopenai.bookstore.service.ShoppingCartService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Created by Allen Huang
+ */
+@Service
+@RequiredArgsConstructor
+public class ShoppingCartServiceImpl implements ShoppingCartService {
+
+    /**
+     * Number of streamed cart items whose books are resolved together
+     */
+    private static final int STREAM_BATCH_SIZE = 64;
+
+    private final EasyQueryTemplate easyQueryTemplate;
+
+    private final BookInfoCache bookInfoCache;
+
+    private final ShoppingCartRepository shoppingCartRepository;
+
+    @Override
+    public Mono<ShoppingCartVO> addItem(AddCartItemRequest request) {
+        Long bookId = request.getBookId();
+        Long userId = request.getUserId();
+        return bookInfoCache.get(bookId)
+                .switchIfEmpty(Mono.create(sink -> sink.error(new BusinessException(ErrorCode.DATA_NOT_FOUND, "bookId=" + bookId))))
+                .flatMap(bookInfo ->
+                        ConnectionRouting.primary(shoppingCartRepository.upsertQuantity(userId, bookId,
+                                        request.getQuantity(), LocalDateTime.now()))
+                                // two first adds of the same item may both try to insert, the loser updates on retry.
+                                // The upsert is a single statement that commits on its own, no transaction is opened
+                                // so the retry never runs in a transaction whose statement already failed
+                                .retryWhen(Retry.max(1).filter(DataIntegrityViolationException.class::isInstance))
+                                .map(entity -> {
+                                    ShoppingCartVO result = ShoppingCartVO.from(entity);
+                                    result.setBookInfo(SimpleBookInfoVO.from(bookInfo));
+                                    return result;
+                                })
+                );
+    }
+
+    @Override
+    public Mono<List<ShoppingCartVO>> queryItems(QueryCartItemsRequest request) {
+        LambdaEaseQuery<ShoppingCart> query = new LambdaEaseQuery<ShoppingCart>()
+                .eq(ShoppingCart_.USER_ID, request.getUserId())
+                .lt(request.getCursor() != null, ShoppingCart_.ID, request.getCursor())
+                .orderByDesc(ShoppingCart_.ID)
+                .limit(request.getLimit());
+        return ConnectionRouting.read(easyQueryTemplate.select(query, ShoppingCart.class)
+                .collectList()
+                .flatMap(this::toShoppingCartVOs));
+    }
+
+    @Override
+    public Flux<ShoppingCartVO> streamItems(QueryCartItemsRequest request) {
+        LambdaEaseQuery<ShoppingCart> query = new LambdaEaseQuery<ShoppingCart>()
+                .eq(ShoppingCart_.USER_ID, request.getUserId())
+                .lt(request.getCursor() != null, ShoppingCart_.ID, request.getCursor())
+                .orderByDesc(ShoppingCart_.ID)
+                .limit(request.getLimit());
+        return ConnectionRouting.read(easyQueryTemplate.select(query, ShoppingCart.class)
+                .buffer(STREAM_BATCH_SIZE)
+                .concatMap(this::toShoppingCartVOs)
+                .flatMapIterable(Function.identity()));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Mono<Boolean> removeItem(Long userId, Long bookId) {
+        return shoppingCartRepository.removeByUserIdAndBookId(userId, bookId)
+                .map(count -> count > 0);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Mono<ShoppingCartVO> reduceItemQuantity(ReduceCartItemRequest request) {
+        Long userId = request.getUserId();
+        Long bookId = request.getBookId();
+        Integer quantity = request.getQuantity();
+        // the book is checked before the cart is changed
+        return bookInfoCache.get(bookId)
+                .switchIfEmpty(Mono.create(sink -> sink.error(new BusinessException(ErrorCode.DATA_NOT_FOUND, "bookId=" + bookId))))
+                .flatMap(bookInfo -> shoppingCartRepository.decreaseQuantity(userId, bookId, quantity, LocalDateTime.now())
+                        // not enough left to decrease, the item is removed instead
+                        .switchIfEmpty(Mono.defer(() -> shoppingCartRepository.removeIfNotMoreThan(userId, bookId, quantity)
+                                .map(entity -> {
+                                    entity.setQuantity(0);
+                                    return entity;
+                                })))
+                        .switchIfEmpty(Mono.create(sink -> {
+                            ShoppingCart shoppingCart = new ShoppingCart();
+                            shoppingCart.setUserId(userId);
+                            shoppingCart.setBookId(bookId);
+                            shoppingCart.setQuantity(0);
+                            shoppingCart.setCreatedTime(LocalDateTime.now());
+                            shoppingCart.setUpdatedTime(shoppingCart.getCreatedTime());
+                            sink.success(shoppingCart);
+                        }))
+                        .map(entity -> {
+                            ShoppingCartVO result = ShoppingCartVO.from(entity);
+                            result.setBookInfo(SimpleBookInfoVO.from(bookInfo));
+                            return result;
+                        })
+                );
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Mono<List<ShoppingCartVO>> batchUpdateItems(BatchCartItemsRequest request) {
+        Long userId = request.getUserId();
+        // the operations of each book are folded into a single change
+        Map<Long, ItemChange> changes = new LinkedHashMap<>();
+        // like removeItem, a book only has to exist to be added or reduced, an orphaned item can still be removed
+        Set<Long> checkedBookIds = new HashSet<>();
+        for (CartItemOperation operation : request.getOperations()) {
+            ItemChange change = changes.getOrDefault(operation.getBookId(), ItemChange.of(operation.getBookId()));
+            change = switch (operation.getType()) {
+                case ADD -> change.add(operation.getQuantity());
+                case REDUCE -> change.reduce(operation.getQuantity());
+                case REMOVE -> change.remove();
+            };
+            if (change.delta() > Integer.MAX_VALUE) {
+                return Mono.error(new BusinessException(ErrorCode.FAILED_PARAMETER_CHECK,
+                        "quantity of bookId=" + operation.getBookId() + " cannot greater than " + Integer.MAX_VALUE));
+            }
+            if (operation.getType() != CartItemOperation.Type.REMOVE) {
+                checkedBookIds.add(operation.getBookId());
+            }
+            changes.put(operation.getBookId(), change);
+        }
+        Mono<Map<Long, BookInfo>> books = checkedBookIds.isEmpty()
+                ? Mono.just(Collections.emptyMap())
+                : bookInfoCache.getAll(checkedBookIds);
+        return books
+                .flatMap(bookMap -> {
+                    if (bookMap.size() < checkedBookIds.size()) {
+                        List<Long> missing = checkedBookIds.stream()
+                                .filter(bookId -> !bookMap.containsKey(bookId))
+                                .sorted()
+                                .toList();
+                        return Mono.error(new BusinessException(ErrorCode.DATA_NOT_FOUND, "bookId=" + missing));
+                    }
+                    return shoppingCartRepository.applyChanges(userId, changes.values(), LocalDateTime.now());
+                })
+                .then(Mono.defer(() -> {
+                    LambdaEaseQuery<ShoppingCart> query = new LambdaEaseQuery<ShoppingCart>()
+                            .eq(ShoppingCart_.USER_ID, userId)
+                            .orderByDesc(ShoppingCart_.ID);
+                    return easyQueryTemplate.select(query, ShoppingCart.class)
+                            .collectList()
+                            .flatMap(this::toShoppingCartVOs);
+                }));
+    }
+
+    @Override
+    public Mono<CartCheckoutVO> checkout(Long userId) {
+        // read from the primary, a lagging replica could miss the items the user has just added
+        return shoppingCartRepository.findCheckout(userId)
+                .switchIfEmpty(Mono.create(sink -> {
+                    CartCheckoutVO entity = new CartCheckoutVO();
+                    entity.setItems(Collections.emptyList());
+                    entity.setTotalPrice(Money.ZERO);
+                    sink.success(entity);
+                }));
+    }
+
+    private Mono<List<ShoppingCartVO>> toShoppingCartVOs(List<ShoppingCart> entities) {
+        if (entities.isEmpty()) {
+            return Mono.just(Collections.emptyList());
+        }
+        Set<Long> bookIds = entities.stream()
+                .map(ShoppingCart::getBookId)
+                .collect(Collectors.toSet());
+        return bookInfoCache.getAll(bookIds)
+                .map(bookMap -> {
+                    List<ShoppingCartVO> elements = new ArrayList<>(entities.size());
+                    for (ShoppingCart entity : entities) {
+                        ShoppingCartVO result = ShoppingCartVO.from(entity);
+                        BookInfo bookInfo = bookMap.get(entity.getBookId());
+                        result.setBookInfo(bookInfo == null ? null : SimpleBookInfoVO.from(bookInfo));
+                        elements.add(result);
+                    }
+                    return elements;
+                });
+    }
+
+}
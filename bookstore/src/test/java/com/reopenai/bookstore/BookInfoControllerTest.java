@@ -1,25 +1,40 @@
 package com.reopenai.bookstore;
 
+import com.reopenai.bookstore.bean.Money;
 import com.reopenai.bookstore.bean.request.AddBookRequest;
 import com.reopenai.bookstore.bean.request.UpdateBookRequest;
 import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.bean.vo.BookImportVO;
+import com.reopenai.bookstore.component.cache.CatalogVersion;
 import com.reopenai.bookstore.component.i18n.I18nConfig;
 import com.reopenai.bookstore.controller.BookInfoController;
 import com.reopenai.bookstore.service.BookInfoService;
+import io.r2dbc.spi.R2dbcTimeoutException;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.pool.PoolAcquirePendingLimitException;
+import reactor.pool.PoolAcquireTimeoutException;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Random;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -28,7 +43,7 @@ import static org.mockito.Mockito.when;
 /**
  * Created by Allen Huang
  */
-@Import(I18nConfig.class)
+@Import({I18nConfig.class, CatalogVersion.class})
 @WebFluxTest(controllers = BookInfoController.class)
 public class BookInfoControllerTest {
 
@@ -46,6 +61,16 @@ public class BookInfoControllerTest {
                 .thenAnswer(i -> Mono.just(new BookDetailVO()));
         when(bookInfoService.queryBooks(any()))
                 .thenAnswer(i -> Mono.just(Collections.emptyList()));
+        when(bookInfoService.importBooks(any(), any()))
+                .thenAnswer(i -> i.<Flux<String>>getArgument(0)
+                        .count()
+                        .map(count -> {
+                            BookImportVO result = new BookImportVO();
+                            result.setTotal(count);
+                            return result;
+                        }));
+        when(bookInfoService.streamBooks(any()))
+                .thenAnswer(i -> Flux.just(new BookDetailVO(), new BookDetailVO()));
     }
 
     @ParameterizedTest
@@ -67,7 +92,8 @@ public class BookInfoControllerTest {
                 Arguments.of(new AddBookRequest(1L, "title", "author", BigDecimal.ZERO)),
                 Arguments.of(new AddBookRequest(1L, "title", "author", new BigDecimal("1.1234"))),
                 Arguments.of(new AddBookRequest(1L, "title", "author", new BigDecimal("123456789098765.123"))),
-                Arguments.of(new AddBookRequest(1L, "title", "author", new BigDecimal("123456789098765.1234")))
+                Arguments.of(new AddBookRequest(1L, "title", "author", new BigDecimal("123456789098765.1234"))),
+                Arguments.of(new AddBookRequest(1L, "title", "author", new BigDecimal(Money.MAX_VALUE)))
         );
     }
 
@@ -97,7 +123,8 @@ public class BookInfoControllerTest {
                 Arguments.of(new AddBookRequest(1L, "title", randomString(256), BigDecimal.ZERO)),
                 Arguments.of(new AddBookRequest(1L, "title", "author", new BigDecimal("-1"))),
                 Arguments.of(new AddBookRequest(1L, "title", "author", new BigDecimal("1234567890987651"))),
-                Arguments.of(new AddBookRequest(1L, "title", "author", new BigDecimal("12345678909876.12345")))
+                Arguments.of(new AddBookRequest(1L, "title", "author", new BigDecimal("12345678909876.12345"))),
+                Arguments.of(new AddBookRequest(1L, "title", "author", new BigDecimal("922337203685477.5808")))
         );
     }
 
@@ -236,4 +263,101 @@ public class BookInfoControllerTest {
         }
         return sb.toString();
     }
+
+    @ParameterizedTest
+    @MethodSource("streamRequestsProvider")
+    public void streamBooksTest(Integer limit, MediaType mediaType, HttpStatus status) {
+        webTestClient.get()
+                .uri(builder -> builder.path("/v1/books:stream").queryParam("limit", limit).build())
+                .accept(mediaType)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(status.value());
+    }
+
+    private static Stream<Arguments> streamRequestsProvider() {
+        return Stream.of(
+                Arguments.of(1, MediaType.APPLICATION_NDJSON, HttpStatus.OK),
+                Arguments.of(10000, MediaType.APPLICATION_NDJSON, HttpStatus.OK),
+                Arguments.of(10000, MediaType.TEXT_EVENT_STREAM, HttpStatus.OK),
+                Arguments.of(0, MediaType.APPLICATION_NDJSON, HttpStatus.BAD_REQUEST),
+                Arguments.of(10001, MediaType.APPLICATION_NDJSON, HttpStatus.BAD_REQUEST),
+                Arguments.of(10001, MediaType.TEXT_EVENT_STREAM, HttpStatus.BAD_REQUEST)
+        );
+    }
+
+    @Test
+    public void streamBooksBodyTest() {
+        Flux<BookDetailVO> body = webTestClient.get()
+                .uri("/v1/books:stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(BookDetailVO.class)
+                .getResponseBody();
+        StepVerifier.create(body)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    public void importBooksTest() {
+        String body = """
+                {"categoryId":1,"title":"title 1","author":"author","price":1}
+                {"categoryId":1,"title":
+                {"categoryId":1,"title":"title 2","author":"author","price":2}
+                """;
+        webTestClient.post()
+                .uri("/v1/admin/books:import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                // a malformed line does not fail the body, every line reaches the import
+                .jsonPath("$.data.total").isEqualTo(3);
+
+        webTestClient.post()
+                .uri("/v1/admin/books:import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+    }
+
+    @ParameterizedTest
+    @MethodSource("connectionFailuresProvider")
+    public void connectionFailureTest(Throwable cause, HttpStatus status) {
+        when(bookInfoService.queryBooks(any()))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("Failed to obtain R2DBC Connection", cause)));
+        WebTestClient.ResponseSpec response = webTestClient.get()
+                .uri("/v1/books")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(status.value());
+        if (status == HttpStatus.TOO_MANY_REQUESTS) {
+            response.expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1");
+        } else {
+            response.expectHeader().doesNotExist(HttpHeaders.RETRY_AFTER);
+        }
+    }
+
+    private static Stream<Arguments> connectionFailuresProvider() {
+        return Stream.of(
+                Arguments.of(new PoolAcquirePendingLimitException(4), HttpStatus.TOO_MANY_REQUESTS),
+                Arguments.of(new R2dbcTimeoutException("Connection acquisition timed out after 10000ms",
+                        new TimeoutException()), HttpStatus.TOO_MANY_REQUESTS),
+                Arguments.of(new PoolAcquireTimeoutException(Duration.ofSeconds(10)), HttpStatus.TOO_MANY_REQUESTS),
+                Arguments.of(new R2dbcTimeoutException("Validation timed out after 5000ms",
+                        new TimeoutException()), HttpStatus.INTERNAL_SERVER_ERROR),
+                Arguments.of(new R2dbcTimeoutException("Statement timed out"), HttpStatus.INTERNAL_SERVER_ERROR),
+                Arguments.of(new IllegalStateException("Connection refused"), HttpStatus.INTERNAL_SERVER_ERROR)
+        );
+    }
+
 }
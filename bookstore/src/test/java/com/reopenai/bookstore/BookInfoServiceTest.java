@@ -0,0 +1,402 @@
+package com.reopenai.bookstore;
+
+import com.reopenai.bookstore.bean.ErrorCode;
+import com.reopenai.bookstore.bean.Money;
+import com.reopenai.bookstore.bean.entity.BookCategory;
+import com.reopenai.bookstore.bean.entity.BookInfo;
+import com.reopenai.bookstore.bean.request.AddBookRequest;
+import com.reopenai.bookstore.bean.request.QueryBookRequest;
+import com.reopenai.bookstore.bean.request.UpdateBookRequest;
+import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.bean.vo.BookImportVO;
+import com.reopenai.bookstore.component.search.BookSearchIndex;
+import com.reopenai.bookstore.service.BookInfoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+/**
+ * Created by Allen Huang
+ */
+public class BookInfoServiceTest extends BaseServiceTest {
+
+    @Autowired
+    private BookInfoService bookInfoService;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Test
+    public void addBookTest() {
+        AddBookRequest request = new AddBookRequest();
+        request.setTitle("add book test");
+        request.setAuthor("add book test");
+        request.setCategoryId(1L);
+        request.setPrice(BigDecimal.TEN);
+        StepVerifier.create(bookInfoService.addBook(request))
+                .assertNext(bookInfo -> {
+                    assertThat(bookInfo.getId()).isNotNull();
+                    assertThat(bookInfo.getCategoryId()).isEqualTo(1L);
+                    assertThat(bookInfo.getCategoryName()).isNotBlank();
+                })
+                .verifyComplete();
+
+        // category not exists case
+        request.setCategoryId(-1L);
+        StepVerifier.create(bookInfoService.addBook(request))
+                .expectErrorSatisfies(ex -> matchBizError(ex, ErrorCode.DATA_NOT_FOUND))
+                .verify();
+    }
+
+    @Test
+    public void updateBookTest() {
+        UpdateBookRequest request = new UpdateBookRequest();
+        request.setId(-1L);
+        StepVerifier.create(bookInfoService.updateBook(request))
+                .expectErrorSatisfies(ex -> matchBizError(ex, ErrorCode.DATA_NOT_FOUND))
+                .verify();
+
+        request.setId(1L);
+        request.setCategoryId(2L);
+        request.setTitle("update book test");
+        request.setAuthor("update book test");
+        request.setPrice(BigDecimal.TEN);
+
+        StepVerifier.create(bookInfoService.updateBook(request))
+                .assertNext(bookInfo -> {
+                    assertThat(bookInfo.getId()).isEqualTo(1L);
+                    assertThat(bookInfo.getCategoryId()).isEqualTo(1L);
+                    assertThat(bookInfo.getCategoryName()).isNotBlank();
+                })
+                .verifyComplete();
+
+        // category not exists case
+        request.setId(1L);
+        request.setCategoryId(-1L);
+        StepVerifier.create(bookInfoService.updateBook(request))
+                .expectErrorSatisfies(ex -> matchBizError(ex, ErrorCode.DATA_NOT_FOUND))
+                .verify();
+    }
+
+    @Test
+    public void queryByAuthorTest() {
+        QueryBookRequest request = new QueryBookRequest();
+        request.setAuthor("A");
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .assertNext(entities -> {
+                    assertThat(entities.size()).isGreaterThan(0);
+                    for (BookDetailVO book : entities) {
+                        assertThat(book.getAuthor()).contains("A");
+                    }
+                })
+                .verifyComplete();
+    }
+
+
+    @Test
+    public void queryByTitleTest() {
+        QueryBookRequest request = new QueryBookRequest();
+        request.setTitle("T");
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .assertNext(entities -> {
+                    assertThat(entities.size()).isGreaterThan(0);
+                    for (BookDetailVO book : entities) {
+                        assertThat(book.getTitle()).contains("T");
+                    }
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void queryByCategoryTest() {
+        QueryBookRequest request = new QueryBookRequest();
+        request.setCategoryId(-1L);
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .expectNext(Collections.emptyList())
+                .verifyComplete();
+
+        request.setCategoryId(1L);
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .assertNext(entities -> {
+                    assertThat(entities.size()).isGreaterThan(0);
+                    for (BookDetailVO book : entities) {
+                        assertThat(book.getCategoryId()).isEqualTo(1L);
+                        assertThat(book.getCategoryName()).isNotBlank();
+                    }
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void queryByBookIdTest() {
+        QueryBookRequest request = new QueryBookRequest();
+        request.setId(-1L);
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .expectNext(Collections.emptyList())
+                .verifyComplete();
+
+        request.setId(1L);
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .assertNext(books -> {
+                    assertThat(books.size()).isEqualTo(1);
+                    BookDetailVO book = books.get(0);
+                    assertThat(book.getId()).isEqualTo(1L);
+                    assertThat(book.getCategoryId()).isNotNull();
+                    assertThat(book.getCategoryName()).isNotBlank();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void queryByCursorTest() {
+        QueryBookRequest request = new QueryBookRequest();
+        request.setLimit(5);
+        request.setCursor(8L);
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .assertNext(books -> {
+                    assertThat(books.size()).isEqualTo(5);
+                    BookDetailVO book = books.get(0);
+                    assertThat(book.getId()).isEqualTo(7L);
+                    assertThat(book.getCategoryId()).isNotNull();
+                    assertThat(book.getCategoryName()).isNotBlank();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void queryCategoryJoinTest() {
+        // the page of the join is the page of book_info with the name of each category
+        List<BookInfo> expected = template.select(BookInfo.class)
+                .matching(Query.query(Criteria.where("categoryId").is(2L).and("id").lessThan(30L))
+                        .sort(Sort.by(Sort.Direction.DESC, "id"))
+                        .limit(10))
+                .all()
+                .collectList()
+                .block();
+        BookCategory category = template.selectOne(Query.query(Criteria.where("id").is(2L)), BookCategory.class).block();
+        assertThat(expected.isEmpty()).isFalse();
+        assertThat(category).isNotNull();
+
+        QueryBookRequest request = new QueryBookRequest();
+        request.setCategoryId(2L);
+        request.setCursor(30L);
+        request.setLimit(10);
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .assertNext(books -> {
+                    assertThat(books.size()).isEqualTo(expected.size());
+                    for (int i = 0; i < books.size(); i++) {
+                        BookDetailVO book = books.get(i);
+                        BookInfo bookInfo = expected.get(i);
+                        assertThat(book.getId()).isEqualTo(bookInfo.getId());
+                        assertThat(book.getTitle()).isEqualTo(bookInfo.getTitle());
+                        assertThat(book.getAuthor()).isEqualTo(bookInfo.getAuthor());
+                        assertThat(book.getPrice()).isEqualTo(bookInfo.getPrice());
+                        assertThat(book.getCategoryId()).isEqualTo(2L);
+                        assertThat(book.getCategoryName()).isEqualTo(category.getName());
+                    }
+                })
+                .verifyComplete();
+
+        // a book whose category is gone is still listed, without a category name
+        BookInfo orphan = new BookInfo();
+        orphan.setTitle("query category join test");
+        orphan.setAuthor("query category join test");
+        orphan.setCategoryId(Long.MAX_VALUE);
+        orphan.setPrice(Money.of(BigDecimal.ONE));
+        orphan = template.insert(orphan).block();
+        assertThat(orphan).isNotNull();
+        QueryBookRequest orphanRequest = new QueryBookRequest();
+        orphanRequest.setId(orphan.getId());
+        try {
+            StepVerifier.create(bookInfoService.queryBooks(orphanRequest))
+                    .assertNext(books -> {
+                        assertThat(books.size()).isEqualTo(1);
+                        assertThat(books.get(0).getCategoryId()).isEqualTo(Long.MAX_VALUE);
+                        assertThat(books.get(0).getCategoryName()).isNull();
+                    })
+                    .verifyComplete();
+        } finally {
+            template.delete(orphan).block();
+        }
+    }
+
+    @Test
+    public void querySearchIndexTest() {
+        AddBookRequest addRequest = new AddBookRequest();
+        addRequest.setTitle("Index Probe Volume");
+        addRequest.setAuthor("Index Probe Writer");
+        addRequest.setCategoryId(1L);
+        addRequest.setPrice(BigDecimal.TEN);
+        BookDetailVO first = bookInfoService.addBook(addRequest).block();
+        addRequest.setTitle("Index Probe Sequel");
+        BookDetailVO second = bookInfoService.addBook(addRequest).block();
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+
+        QueryBookRequest request = new QueryBookRequest();
+        request.setTitle("x Probe");
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .assertNext(books -> {
+                    assertThat(books.size()).isEqualTo(2);
+                    assertThat(books.get(0).getId()).isEqualTo(second.getId());
+                    assertThat(books.get(0).getCategoryName()).isNotBlank();
+                })
+                .verifyComplete();
+
+        // the index is case-insensitive, the result is not
+        request.setTitle("x probe");
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .expectNext(Collections.emptyList())
+                .verifyComplete();
+
+        request.setTitle("Probe");
+        request.setAuthor("Probe Writer");
+        request.setCursor(second.getId());
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .assertNext(books -> {
+                    assertThat(books.size()).isEqualTo(1);
+                    assertThat(books.get(0).getId()).isEqualTo(first.getId());
+                })
+                .verifyComplete();
+
+        UpdateBookRequest updateRequest = new UpdateBookRequest();
+        updateRequest.setId(first.getId());
+        updateRequest.setCategoryId(1L);
+        updateRequest.setTitle("Renamed Volume");
+        updateRequest.setAuthor("Index Probe Writer");
+        updateRequest.setPrice(BigDecimal.TEN);
+        bookInfoService.updateBook(updateRequest).block();
+
+        QueryBookRequest renamedRequest = new QueryBookRequest();
+        renamedRequest.setTitle("Renamed Vol");
+        StepVerifier.create(bookInfoService.queryBooks(renamedRequest))
+                .assertNext(books -> {
+                    assertThat(books.size()).isEqualTo(1);
+                    assertThat(books.get(0).getId()).isEqualTo(first.getId());
+                })
+                .verifyComplete();
+        renamedRequest.setTitle("Index Probe");
+        StepVerifier.create(bookInfoService.queryBooks(renamedRequest))
+                .assertNext(books -> {
+                    assertThat(books.size()).isEqualTo(1);
+                    assertThat(books.get(0).getId()).isEqualTo(second.getId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void searchIndexLikeTest() {
+        bookSearchIndex.loaded().block(Duration.ofSeconds(10));
+        Long wildcard = addBook("Wild_Card 100% Guide");
+        Long literal = addBook("WildXCard 100 Percent Guide");
+        Long sigma = addBook("ΟΔΟΣΑ Atlas");
+
+        // the wildcards of LIKE are not searched as text
+        assertSearch("Wild_Card", literal, wildcard);
+        assertSearch("100%Guide", literal, wildcard);
+        assertSearch("100\\%", wildcard);
+        // LIKE is case-sensitive, the index only narrows the candidates
+        assertSearch("WildXCard", literal);
+        assertSearch("wildxcard");
+        // a final sigma is lower-cased differently at the end of the term
+        assertSearch("ΟΔΟΣ", sigma);
+    }
+
+    private Long addBook(String title) {
+        BookDetailVO book = bookInfoService.addBook(new AddBookRequest(1L, title, "Search Author", BigDecimal.ONE)).block();
+        assertThat(book).isNotNull();
+        return book.getId();
+    }
+
+    private void assertSearch(String title, Long... expectedIds) {
+        assertThat(bookSearchIndex.search(title, null)).isNotNull();
+        QueryBookRequest request = new QueryBookRequest();
+        request.setTitle(title);
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .assertNext(books -> assertThat(books.stream().map(BookDetailVO::getId).toList())
+                        .isEqualTo(List.of(expectedIds)))
+                .verifyComplete();
+    }
+
+    @Test
+    public void importBooksTest() {
+        String row = "{\"categoryId\":%d,\"title\":\"%s\",\"author\":\"Import Author\",\"price\":1}";
+        Flux<String> lines = Flux.range(0, 1200)
+                .map(i -> {
+                    if (i == 1) {
+                        return String.format(row, 1L, " ");
+                    }
+                    // malformed lines between good ones
+                    if (i == 3) {
+                        return "{\"categoryId\":1,\"title\":";
+                    }
+                    if (i == 4) {
+                        return "null";
+                    }
+                    if (i == 700) {
+                        return String.format(row, Long.MAX_VALUE, "Imported Title " + i);
+                    }
+                    return String.format(row, 1L, "Imported Title " + i);
+                });
+        StepVerifier.create(bookInfoService.importBooks(lines, Locale.ENGLISH))
+                .assertNext(result -> {
+                    assertThat(result.getTotal()).isEqualTo(1200L);
+                    assertThat(result.getImported()).isEqualTo(1196L);
+                    assertThat(result.getFailed()).isEqualTo(4L);
+                    assertThat(result.getFailures().size()).isEqualTo(4);
+                    assertThat(result.getFailures().get(0).getRow()).isEqualTo(2L);
+                    assertThat(result.getFailures().get(0).getCode()).isEqualTo(ErrorCode.FAILED_PARAMETER_CHECK.getCode());
+                    assertThat(result.getFailures().get(1).getRow()).isEqualTo(4L);
+                    assertThat(result.getFailures().get(1).getCode()).isEqualTo(ErrorCode.FAILED_PARAMETER_CHECK.getCode());
+                    assertThat(result.getFailures().get(2).getRow()).isEqualTo(5L);
+                    assertThat(result.getFailures().get(2).getCode()).isEqualTo(ErrorCode.INVALID_PARAMETER.getCode());
+                    assertThat(result.getFailures().get(3).getRow()).isEqualTo(701L);
+                    assertThat(result.getFailures().get(3).getCode()).isEqualTo(ErrorCode.DATA_NOT_FOUND.getCode());
+                })
+                .verifyComplete();
+
+        // the summary of one import is not shared with the next subscription
+        Mono<BookImportVO> malformed = bookInfoService.importBooks(Flux.just("", "{"), Locale.ENGLISH);
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(malformed)
+                    .assertNext(result -> {
+                        assertThat(result.getTotal()).isEqualTo(1L);
+                        assertThat(result.getFailures().size()).isEqualTo(1);
+                        assertThat(result.getFailures().get(0).getRow()).isEqualTo(2L);
+                    })
+                    .verifyComplete();
+        }
+
+        // imported books are searchable right away
+        QueryBookRequest request = new QueryBookRequest();
+        request.setTitle("Imported Title 1199");
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .assertNext(books -> {
+                    assertThat(books.size()).isEqualTo(1);
+                    assertThat(books.get(0).getAuthor()).isEqualTo("Import Author");
+                })
+                .verifyComplete();
+        request.setTitle("Imported Title 700");
+        StepVerifier.create(bookInfoService.queryBooks(request))
+                .expectNext(Collections.emptyList())
+                .verifyComplete();
+    }
+
+}
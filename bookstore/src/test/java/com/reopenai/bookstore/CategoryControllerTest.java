@@ -0,0 +1,359 @@
+package com.reopenai.bookstore;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.reopenai.bookstore.bean.request.AddBookCategoryRequest;
+import com.reopenai.bookstore.bean.request.UpdateBookCategoryRequest;
+import com.reopenai.bookstore.bean.vo.BookCategoryVO;
+import com.reopenai.bookstore.component.cache.CatalogVersion;
+import com.reopenai.bookstore.component.i18n.I18nConfig;
+import com.reopenai.bookstore.controller.CategoryController;
+import com.reopenai.bookstore.service.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Import({I18nConfig.class, CatalogVersion.class})
+@WebFluxTest(controllers = CategoryController.class)
+class CategoryControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private CategoryService categoryService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @BeforeEach
+    public void setup() {
+        when(categoryService.create(any()))
+                .thenAnswer(i -> Mono.just(new BookCategoryVO()));
+        when(categoryService.update(any()))
+                .thenAnswer(i -> Mono.just(new BookCategoryVO()));
+        when(categoryService.query(any()))
+                .thenAnswer(i -> Mono.just(Collections.emptyList()));
+        when(categoryService.stream(any()))
+                .thenAnswer(i -> Flux.just(new BookCategoryVO()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("positiveAddRequestsProvider")
+    public void createPositiveTest(AddBookCategoryRequest request) {
+        webTestClient.post()
+                .uri("/v1/admin/categories")
+                .bodyValue(request)
+                .exchange().expectStatus()
+                .isOk();
+    }
+
+    private static Stream<Arguments> positiveAddRequestsProvider() {
+        return Stream.of(
+                Arguments.of(new AddBookCategoryRequest("test")),
+                Arguments.of(new AddBookCategoryRequest(randomString(255)))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidAddRequestsProvider")
+    public void createNegativeTest(AddBookCategoryRequest request) {
+        webTestClient.post()
+                .uri("/v1/admin/categories")
+                .bodyValue(request)
+                .exchange().expectStatus()
+                .isBadRequest();
+    }
+
+    private static Stream<Arguments> invalidAddRequestsProvider() {
+        return Stream.of(
+                Arguments.of(new AddBookCategoryRequest()),
+                Arguments.of(new AddBookCategoryRequest("")),
+                Arguments.of(new AddBookCategoryRequest(randomString(256)))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("positiveUpdateRequestsProvider")
+    public void updatePositiveTest(UpdateBookCategoryRequest request) {
+        webTestClient.put()
+                .uri("/v1/admin/categories")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus()
+                .isOk();
+    }
+
+    private static Stream<Arguments> positiveUpdateRequestsProvider() {
+        return Stream.of(
+                Arguments.of(new UpdateBookCategoryRequest(1L, "test")),
+                Arguments.of(new UpdateBookCategoryRequest(1L, randomString(255)))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidUpdateRequestsProvider")
+    public void updateNegativeTest(UpdateBookCategoryRequest request) {
+        webTestClient.put()
+                .uri("/v1/admin/categories")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+    }
+
+    private static Stream<Arguments> invalidUpdateRequestsProvider() {
+        return Stream.of(
+                Arguments.of(new UpdateBookCategoryRequest(null, "test")),
+                Arguments.of(new UpdateBookCategoryRequest(-1L, "test")),
+                Arguments.of(new UpdateBookCategoryRequest(0L, "test")),
+                Arguments.of(new UpdateBookCategoryRequest(1L, null)),
+                Arguments.of(new UpdateBookCategoryRequest(1L, "")),
+                Arguments.of(new UpdateBookCategoryRequest(1L, randomString(256)))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("positiveQueryRequestsProvider")
+    public void queryPositiveTest(Integer limit, Long cursor, Long id) {
+        webTestClient.get()
+                .uri(builder -> builder
+                        .path("/v1/categories")
+                        .queryParam("limit", limit)
+                        .queryParam("cursor", cursor)
+                        .queryParam("id", id)
+                        .build())
+                .exchange()
+                .expectStatus()
+                .isOk();
+    }
+
+    private static Stream<Arguments> positiveQueryRequestsProvider() {
+        return Stream.of(
+                Arguments.of(1, null, null),
+                Arguments.of(1024, null, null),
+                Arguments.of(1, 1L, null),
+                Arguments.of(1, null, 1L),
+                Arguments.of(1, 1L, 1L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidQueryRequestsProvider")
+    public void queryNegativeTest(Integer limit, Long cursor, Long id) {
+        webTestClient.get()
+                .uri(builder -> builder
+                        .path("/v1/categories")
+                        .queryParam("limit", limit)
+                        .queryParam("cursor", cursor)
+                        .queryParam("id", id)
+                        .build())
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+    }
+
+    private static Stream<Arguments> invalidQueryRequestsProvider() {
+        return Stream.of(
+                Arguments.of(-1, null, null),
+                Arguments.of(0, null, null),
+                Arguments.of(1025, null, null),
+                Arguments.of(null, -1L, null),
+                Arguments.of(null, 0L, null),
+                Arguments.of(null, null, 0L),
+                Arguments.of(null, null, -1L)
+        );
+    }
+
+    private static String randomString(int length) {
+        String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        Random random = new Random();
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            int randomIndex = random.nextInt(characters.length());
+            sb.append(characters.charAt(randomIndex));
+        }
+        return sb.toString();
+    }
+
+    @ParameterizedTest
+    @MethodSource("streamRequestsProvider")
+    public void streamTest(Integer limit, MediaType mediaType, HttpStatus status) {
+        webTestClient.get()
+                .uri(builder -> builder.path("/v1/categories:stream").queryParam("limit", limit).build())
+                .accept(mediaType)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(status.value());
+    }
+
+    private static Stream<Arguments> streamRequestsProvider() {
+        return Stream.of(
+                Arguments.of(1, MediaType.APPLICATION_NDJSON, HttpStatus.OK),
+                Arguments.of(10000, MediaType.APPLICATION_NDJSON, HttpStatus.OK),
+                Arguments.of(10000, MediaType.TEXT_EVENT_STREAM, HttpStatus.OK),
+                Arguments.of(0, MediaType.APPLICATION_NDJSON, HttpStatus.BAD_REQUEST),
+                Arguments.of(10001, MediaType.APPLICATION_NDJSON, HttpStatus.BAD_REQUEST),
+                Arguments.of(10001, MediaType.TEXT_EVENT_STREAM, HttpStatus.BAD_REQUEST)
+        );
+    }
+
+    @Test
+    public void errorResponseTest() {
+        // twice: serialized, then written from the cache
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get()
+                    .uri("/v1/unknown\"" + i)
+                    .exchange()
+                    .expectStatus().isNotFound()
+                    .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                    .expectBody()
+                    .jsonPath("$.code").isEqualTo("404")
+                    .jsonPath("$.message").isEqualTo("/v1/unknown%22" + i + " not found");
+            webTestClient.delete()
+                    .uri("/v1/categories")
+                    .exchange()
+                    .expectStatus().isEqualTo(HttpStatus.METHOD_NOT_ALLOWED)
+                    .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                    .expectBody()
+                    .jsonPath("$.code").isEqualTo("405")
+                    .jsonPath("$.message").isEqualTo("The DELETE request method is not allowed");
+            webTestClient.get()
+                    .uri("/v1/categories:stream?limit=10")
+                    .accept(MediaType.APPLICATION_PDF)
+                    .exchange()
+                    .expectStatus().isEqualTo(HttpStatus.NOT_ACCEPTABLE)
+                    .expectBody()
+                    .jsonPath("$.code").isEqualTo("406");
+        }
+    }
+
+    @Test
+    public void binaryFormatTest() throws IOException {
+        BookCategoryVO category = new BookCategoryVO();
+        category.setId(3L);
+        category.setName("Fiction");
+        when(categoryService.query(any())).thenAnswer(i -> Mono.just(List.of(category)));
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+        // JSON unless a binary format is asked for
+        webTestClient.get()
+                .uri("/v1/categories?limit=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+        for (String accept : List.of("*/*", "application/*", "text/html, application/xhtml+xml, */*;q=0.8")) {
+            webTestClient.get()
+                    .uri("/v1/categories?limit=10")
+                    .header(HttpHeaders.ACCEPT, accept)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentType(MediaType.APPLICATION_JSON);
+        }
+
+        byte[] body = webTestClient.get()
+                .uri("/v1/categories?limit=10")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+        JsonNode response = cborMapper.readTree(body);
+        assertThat(response.get("code").asText()).isEqualTo("200");
+        assertThat(response.get("data").get(0).get("id").asText()).isEqualTo("3");
+        assertThat(response.get("data").get(0).get("name").asText()).isEqualTo("Fiction");
+
+        // error responses follow the negotiated format
+        body = webTestClient.delete()
+                .uri("/v1/categories")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.METHOD_NOT_ALLOWED)
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+        assertThat(cborMapper.readTree(body).get("code").asText()).isEqualTo("405");
+    }
+
+    @Test
+    public void conditionalGetTest() {
+        String etag = webTestClient.get()
+                .uri("/v1/categories?limit=20")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .returnResult(byte[].class)
+                .getResponseHeaders().getETag();
+        assertThat(etag).startsWith("W/");
+
+        // unchanged catalog: answered before the service is called
+        webTestClient.get()
+                .uri("/v1/categories?limit=20")
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        verify(categoryService, times(1)).query(any());
+
+        // the default format is JSON
+        webTestClient.get()
+                .uri("/v1/categories?limit=20")
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        // another query of the same catalog version
+        webTestClient.get()
+                .uri("/v1/categories?limit=20&cursor=5")
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk();
+
+        // the same query in another format
+        webTestClient.get()
+                .uri("/v1/categories?limit=20")
+                .accept(MediaType.APPLICATION_CBOR)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertThat(value).isNotEqualTo(etag));
+
+        catalogVersion.bump();
+        webTestClient.get()
+                .uri("/v1/categories?limit=20")
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertThat(value).isNotEqualTo(etag));
+        verify(categoryService, times(4)).query(any());
+    }
+
+}
@@ -0,0 +1,388 @@
+package com.reopenai.bookstore;
+
+import com.reopenai.bookstore.bean.ErrorCode;
+import com.reopenai.bookstore.bean.entity.BookCategory;
+import com.reopenai.bookstore.bean.entity.BookCategory_;
+import com.reopenai.bookstore.bean.request.AddBookCategoryRequest;
+import com.reopenai.bookstore.bean.request.QueryBookCategoryRequest;
+import com.reopenai.bookstore.bean.request.UpdateBookCategoryRequest;
+import com.reopenai.bookstore.bean.vo.BookCategoryVO;
+import com.reopenai.bookstore.component.cache.BookCategoryCache;
+import com.reopenai.bookstore.component.cache.CatalogVersion;
+import com.reopenai.bookstore.component.database.EasyQueryTemplate;
+import com.reopenai.bookstore.component.database.condition.LambdaEaseQuery;
+import com.reopenai.bookstore.component.jackson.PreEncodedList;
+import com.reopenai.bookstore.component.metrics.MeteredConnectionFactory;
+import com.reopenai.bookstore.component.metrics.ServiceTimerInterceptor;
+import com.reopenai.bookstore.service.CategoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+/**
+ * Created by Allen Huang
+ */
+public class CategoryServiceTest extends BaseServiceTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    @Autowired
+    private BookCategoryCache bookCategoryCache;
+
+    @Autowired
+    private EasyQueryTemplate easyQueryTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Test
+    public void createDuplicateEntityTest() {
+        AddBookCategoryRequest request = new AddBookCategoryRequest();
+        request.setName("Fiction");
+        StepVerifier.create(categoryService.create(request))
+                .expectErrorSatisfies(ex -> matchBizError(ex, ErrorCode.BOOK_CATEGORY_EXISTS))
+                .verify();
+    }
+
+    @Test
+    public void createEntityTest() {
+        String name = "test case";
+        AddBookCategoryRequest request = new AddBookCategoryRequest();
+        request.setName(name);
+        StepVerifier.create(categoryService.create(request))
+                .assertNext(entity -> {
+                    assertThat(entity.getName()).isEqualTo(name);
+                    assertThat(entity.getId()).isNotNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void updateNonExistentEntityTest() {
+        UpdateBookCategoryRequest request = new UpdateBookCategoryRequest();
+        request.setId(-1L);
+        request.setName("test");
+        StepVerifier.create(categoryService.update(request))
+                .expectErrorSatisfies(ex -> {
+                    matchBizError(ex, ErrorCode.DATA_NOT_FOUND);
+                    // business errors carry no stack trace, the message is resolved on demand
+                    assertThat(ex.getStackTrace()).isEmpty();
+                    assertThat(ex.getMessage()).contains("id=-1");
+                })
+                .verify();
+    }
+
+    @Test
+    public void updateEntityTest() {
+        UpdateBookCategoryRequest request = new UpdateBookCategoryRequest();
+        request.setId(1L);
+        request.setName("Fiction");
+        StepVerifier.create(categoryService.update(request))
+                .assertNext(entity -> assertThat(entity.getName()).isEqualTo("Fiction"))
+                .verifyComplete();
+
+        request.setName("test case update entity");
+        StepVerifier.create(categoryService.update(request))
+                .assertNext(entity -> assertThat(entity.getName()).isEqualTo("test case update entity"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void queryNotExistsTest() {
+        QueryBookCategoryRequest request = new QueryBookCategoryRequest();
+        request.setId(0L);
+        StepVerifier.create(categoryService.query(request))
+                .expectNext(Collections.emptyList())
+                .verifyComplete();
+    }
+
+    @Test
+    public void queryByIdTest() {
+        QueryBookCategoryRequest request = new QueryBookCategoryRequest();
+        request.setId(1L);
+        StepVerifier.create(categoryService.query(request))
+                .assertNext(categories -> {
+                    assertThat(categories.size()).isEqualTo(1);
+                    assertThat(categories.get(0).getId()).isEqualTo(1L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void queryByCursorTest() {
+        QueryBookCategoryRequest request = new QueryBookCategoryRequest();
+        request.setId(null);
+        request.setLimit(3);
+        request.setCursor(8L);
+        StepVerifier.create(categoryService.query(request))
+                .assertNext(categories -> {
+                    assertThat(categories.size()).isEqualTo(3);
+                    assertThat(categories.get(0).getId()).isEqualTo(7L);
+                })
+                .verifyComplete();
+
+    }
+
+    @Test
+    public void cacheWriteThroughTest() {
+        AddBookCategoryRequest request = new AddBookCategoryRequest();
+        request.setName("test case cache");
+        BookCategoryVO created = categoryService.create(request).block();
+        assertThat(created).isNotNull();
+
+        long missCount = bookCategoryCache.getMissCount();
+        StepVerifier.create(bookCategoryCache.getName(created.getId()))
+                .expectNext("test case cache")
+                .verifyComplete();
+
+        UpdateBookCategoryRequest updateRequest = new UpdateBookCategoryRequest();
+        updateRequest.setId(created.getId());
+        updateRequest.setName("test case cache update");
+        categoryService.update(updateRequest).block();
+        StepVerifier.create(bookCategoryCache.getName(created.getId()))
+                .expectNext("test case cache update")
+                .verifyComplete();
+        assertThat(bookCategoryCache.getMissCount()).isEqualTo(missCount);
+
+        // failed update must not leak into the cache
+        updateRequest.setName("Fiction");
+        StepVerifier.create(categoryService.update(updateRequest))
+                .expectErrorSatisfies(ex -> matchBizError(ex, ErrorCode.BOOK_CATEGORY_EXISTS))
+                .verify();
+        StepVerifier.create(bookCategoryCache.getName(created.getId()))
+                .expectNext("test case cache update")
+                .verifyComplete();
+    }
+
+    @Test
+    public void cacheRollbackTest() {
+        AddBookCategoryRequest request = new AddBookCategoryRequest();
+        request.setName("test case rollback");
+        BookCategoryVO created = categoryService.create(request).block();
+        assertThat(created).isNotNull();
+        long version = catalogVersion.current();
+
+        // the update is written, then a later step of the same transaction fails
+        UpdateBookCategoryRequest updateRequest = new UpdateBookCategoryRequest();
+        updateRequest.setId(created.getId());
+        updateRequest.setName("test case rollback update");
+        StepVerifier.create(failAfter(categoryService.update(updateRequest)))
+                .expectErrorMessage("forced failure")
+                .verify();
+        StepVerifier.create(r2dbcEntityTemplate.selectOne(Query.query(Criteria.where("id").is(created.getId())), BookCategory.class))
+                .assertNext(entity -> assertThat(entity.getName()).isEqualTo("test case rollback"))
+                .verifyComplete();
+        StepVerifier.create(bookCategoryCache.getName(created.getId()))
+                .expectNext("test case rollback")
+                .verifyComplete();
+
+        // a created category is neither persisted nor cached
+        request.setName("test case rollback create");
+        StepVerifier.create(failAfter(categoryService.create(request)))
+                .expectErrorMessage("forced failure")
+                .verify();
+        StepVerifier.create(r2dbcEntityTemplate.exists(Query.query(Criteria.where("name").is("test case rollback create")), BookCategory.class))
+                .expectNext(false)
+                .verifyComplete();
+        assertThat(bookCategoryCache.list(null, null, Integer.MAX_VALUE).stream()
+                .noneMatch(category -> category.getName().equals("test case rollback create"))).isTrue();
+        assertThat(catalogVersion.current()).isEqualTo(version);
+    }
+
+    /**
+     * Runs the call in a transaction that fails once the call is done, the call joins that transaction
+     */
+    private <T> Mono<T> failAfter(Mono<T> call) {
+        return transactionalOperator.transactional(call
+                .then(Mono.error(new IllegalStateException("forced failure"))));
+    }
+
+    @Test
+    public void catalogVersionTest() {
+        AddBookCategoryRequest request = new AddBookCategoryRequest();
+        request.setName("test case version");
+        long version = catalogVersion.current();
+        BookCategoryVO created = categoryService.create(request).block();
+        assertThat(created).isNotNull();
+        assertThat(catalogVersion.current()).isGreaterThan(version);
+
+        // neither an unchanged name nor a failed update changes the catalog
+        version = catalogVersion.current();
+        UpdateBookCategoryRequest updateRequest = new UpdateBookCategoryRequest();
+        updateRequest.setId(created.getId());
+        updateRequest.setName("test case version");
+        categoryService.update(updateRequest).block();
+        updateRequest.setName("Fiction");
+        StepVerifier.create(categoryService.update(updateRequest))
+                .expectErrorSatisfies(ex -> matchBizError(ex, ErrorCode.BOOK_CATEGORY_EXISTS))
+                .verify();
+        assertThat(catalogVersion.current()).isEqualTo(version);
+
+        updateRequest.setName("test case version update");
+        categoryService.update(updateRequest).block();
+        assertThat(catalogVersion.current()).isGreaterThan(version);
+    }
+
+    @Test
+    public void snapshotTest() {
+        AddBookCategoryRequest addRequest = new AddBookCategoryRequest();
+        addRequest.setName("test case snapshot");
+        BookCategoryVO created = categoryService.create(addRequest).block();
+        assertThat(created).isNotNull();
+
+        Long[] ids = {null, 1L, 3L, created.getId(), created.getId() + 1};
+        Long[] cursors = {null, 1L, 2L, 5L, created.getId(), created.getId() + 1};
+        int[] limits = {1, 3, QueryBookCategoryRequest.DEFAULT_LIMIT, 1024};
+        for (Long id : ids) {
+            for (Long cursor : cursors) {
+                for (int limit : limits) {
+                    QueryBookCategoryRequest request = new QueryBookCategoryRequest();
+                    request.setId(id);
+                    request.setCursor(cursor);
+                    request.setLimit(limit);
+                    LambdaEaseQuery<BookCategory> query = new LambdaEaseQuery<BookCategory>()
+                            .eq(id != null, BookCategory_.ID, id)
+                            .lt(cursor != null, BookCategory_.ID, cursor)
+                            .orderByDesc(BookCategory_.ID)
+                            .limit(limit);
+                    List<BookCategoryVO> expected = easyQueryTemplate.select(query, BookCategory.class)
+                            .map(BookCategoryVO::from)
+                            .collectList()
+                            .block();
+                    StepVerifier.create(categoryService.query(request))
+                            .expectNext(expected)
+                            .verifyComplete();
+                }
+            }
+        }
+
+        // the default listing is pre-encoded and follows the updates
+        QueryBookCategoryRequest request = new QueryBookCategoryRequest();
+        List<BookCategoryVO> firstPage = categoryService.query(request).block();
+        assertThat(firstPage).isInstanceOf(PreEncodedList.class);
+        assertThat(firstPage.get(0).getName()).isEqualTo("test case snapshot");
+        UpdateBookCategoryRequest updateRequest = new UpdateBookCategoryRequest();
+        updateRequest.setId(created.getId());
+        updateRequest.setName("test case snapshot update");
+        categoryService.update(updateRequest).block();
+        assertThat(categoryService.query(request).block().get(0).getName()).isEqualTo("test case snapshot update");
+    }
+
+    @Test
+    public void snapshotCopyTest() {
+        QueryBookCategoryRequest firstPageRequest = new QueryBookCategoryRequest();
+        QueryBookCategoryRequest byIdRequest = new QueryBookCategoryRequest();
+        byIdRequest.setId(1L);
+        QueryBookCategoryRequest pageRequest = new QueryBookCategoryRequest();
+        pageRequest.setLimit(1024);
+        for (QueryBookCategoryRequest request : List.of(firstPageRequest, byIdRequest, pageRequest)) {
+            List<BookCategoryVO> categories = categoryService.query(request).block();
+            assertThat(categories).isNotNull();
+            String name = categories.get(0).getName();
+            // callers own the categories they get, changing them leaves the cache as it is
+            categories.get(0).setName("test case modified copy");
+            assertThat(categoryService.query(request).block().get(0).getName()).isEqualTo(name);
+        }
+        assertThat(categoryService.query(firstPageRequest).block()).isInstanceOf(PreEncodedList.class);
+    }
+
+    @Test
+    public void compiledQueryTest() {
+        List<LambdaEaseQuery<BookCategory>> queries = List.of(
+                new LambdaEaseQuery<BookCategory>().in(BookCategory_.ID, List.of(1L, 3L, 5L)).orderByAsc(BookCategory_.ID),
+                new LambdaEaseQuery<BookCategory>().in(BookCategory_.ID, List.of(2L, 4L, 6L, 8L)).orderByAsc(BookCategory_.ID),
+                new LambdaEaseQuery<BookCategory>().lt(BookCategory_.ID, 8L).orderByDesc(BookCategory_.ID).limit(3),
+                new LambdaEaseQuery<BookCategory>().lt(BookCategory_.ID, 5L).orderByDesc(BookCategory_.ID).limit(2),
+                new LambdaEaseQuery<BookCategory>().between(BookCategory_.ID, 2L, 4L)
+                        .or(q -> q.eq(BookCategory_.ID, 7L).isNotNull(BookCategory_.NAME))
+                        .orderByDesc(BookCategory_.ID)
+        );
+        for (LambdaEaseQuery<BookCategory> query : queries) {
+            List<Long> expected = r2dbcEntityTemplate.select(query.asQuery(), BookCategory.class)
+                    .map(BookCategory::getId)
+                    .collectList()
+                    .block();
+            StepVerifier.create(easyQueryTemplate.select(query, BookCategory.class).map(BookCategory::getId).collectList())
+                    .assertNext(ids -> {
+                        assertThat(ids).isEqualTo(expected);
+                        assertThat(ids.isEmpty()).isFalse();
+                    })
+                    .verifyComplete();
+        }
+        // IN lists of 3 and 4 values share a padded shape, so do the two cursor queries
+        assertThat(queries.get(0).getShape()).isEqualTo(queries.get(1).getShape());
+        assertThat(queries.get(2).getShape()).isEqualTo(queries.get(3).getShape());
+    }
+
+    @Test
+    public void compiledNullParameterTest() {
+        // Criteria rejects null values, so the shapes are compiled from queries without them first
+        StepVerifier.create(easyQueryTemplate.select(new LambdaEaseQuery<BookCategory>()
+                        .in(BookCategory_.ID, List.of(1L, 3L)).orderByAsc(BookCategory_.ID), BookCategory.class)
+                        .map(BookCategory::getId)
+                        .collectList())
+                .assertNext(ids -> assertThat(ids).isEqualTo(List.of(1L, 3L)))
+                .verifyComplete();
+        StepVerifier.create(easyQueryTemplate.select(new LambdaEaseQuery<BookCategory>()
+                        .in(BookCategory_.ID, Arrays.asList(2L, null)).orderByAsc(BookCategory_.ID), BookCategory.class)
+                        .map(BookCategory::getId)
+                        .collectList())
+                .assertNext(ids -> assertThat(ids).isEqualTo(List.of(2L)))
+                .verifyComplete();
+
+        StepVerifier.create(easyQueryTemplate.select(new LambdaEaseQuery<BookCategory>()
+                        .eq(BookCategory_.NAME, "Fiction"), BookCategory.class))
+                .expectNextCount(1)
+                .verifyComplete();
+        // bound as SQL NULL, which equals nothing
+        StepVerifier.create(easyQueryTemplate.select(new LambdaEaseQuery<BookCategory>()
+                        .eq(BookCategory_.NAME, null), BookCategory.class))
+                .verifyComplete();
+    }
+
+    @Test
+    public void metricsTest() {
+        QueryBookCategoryRequest request = new QueryBookCategoryRequest();
+        request.setId(1L);
+        Timer timer = meterRegistry.timer(ServiceTimerInterceptor.METRIC_NAME,
+                "service", "CategoryService", "method", "query", "outcome", "success");
+        long count = timer.count();
+        Timer acquireTimer = meterRegistry.get(MeteredConnectionFactory.METRIC_NAME).tag("name", "connectionFactory").timer();
+        long acquireCount = acquireTimer.count();
+
+        StepVerifier.create(categoryService.query(request))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertThat(timer.count()).isEqualTo(count + 1);
+        // the listing is served from memory, a query of the database acquires a connection
+        StepVerifier.create(easyQueryTemplate.select(new LambdaEaseQuery<BookCategory>().eq(BookCategory_.ID, 1L), BookCategory.class))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertThat(acquireTimer.count()).isGreaterThan(acquireCount);
+        assertThat(meterRegistry.find("r2dbc.pool.acquired").gauge()).isNotNull();
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.reopenai.bookstore;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overloads a pool of one connection: requests that cannot get a connection are rejected with 429
+ * instead of queueing without bound.
+ * <p>
+ * The only connection is held by the test while the requests are sent, so which requests are served and which are
+ * rejected does not depend on timing. The acquire time is long enough for the queued requests to wait for the
+ * connection to be given back.
+ * <p>
+ * Created by Allen Huang
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///loadtestdb;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.pool.max-size=1",
+        "spring.r2dbc.pool.initial-size=1",
+        "spring.r2dbc.pool.max-acquire-time=10s",
+        "bookstore.r2dbc.pool.max-pending-acquire=4",
+        "bookstore.r2dbc.read.enabled=false",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:ddl/v1.sql"
+})
+public class ConnectionPoolLoadTest {
+
+    private static final int CONCURRENCY = 40;
+
+    private static final int MAX_PENDING = 4;
+
+    /**
+     * Upper bound of a test, only reached if requests queue without bound
+     */
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Test
+    public void saturatedPoolTest() {
+        Connection held = Mono.from(connectionFactory.create()).block();
+        List<HttpStatusCode> results;
+        try {
+            // every request is answered while the connection is still held
+            results = fire().collectList().block(TIMEOUT);
+        } finally {
+            Mono.from(held.close()).block();
+        }
+        assertThat(results).hasSize(CONCURRENCY);
+        assertThat(results).containsOnly(HttpStatus.TOO_MANY_REQUESTS);
+        // the pool recovers once the connection is back
+        assertThat(request().block()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    public void overloadTest() throws Exception {
+        Connection held = Mono.from(connectionFactory.create()).block();
+        CountDownLatch rejected = new CountDownLatch(CONCURRENCY - MAX_PENDING);
+        CompletableFuture<List<HttpStatusCode>> results;
+        try {
+            results = fire()
+                    .doOnNext(status -> {
+                        if (HttpStatus.TOO_MANY_REQUESTS.equals(status)) {
+                            rejected.countDown();
+                        }
+                    })
+                    .collectList()
+                    .toFuture();
+            // the requests beyond the bounded queue are rejected right away
+            assertThat(rejected.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+            assertThat(pool().getMetrics().orElseThrow().pendingAcquireSize()).isEqualTo(MAX_PENDING);
+        } finally {
+            Mono.from(held.close()).block();
+        }
+        // the queued requests are served one after the other once the connection is back
+        List<HttpStatusCode> statuses = results.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        assertThat(statuses).hasSize(CONCURRENCY);
+        assertThat(statuses).filteredOn(HttpStatus.OK::equals).hasSize(MAX_PENDING);
+        assertThat(statuses).filteredOn(HttpStatus.TOO_MANY_REQUESTS::equals).hasSize(CONCURRENCY - MAX_PENDING);
+    }
+
+    private Flux<HttpStatusCode> fire() {
+        return Flux.range(0, CONCURRENCY)
+                .flatMap(i -> request(), CONCURRENCY);
+    }
+
+    private Mono<HttpStatusCode> request() {
+        return WebClient.create("http://localhost:" + port)
+                .get()
+                .uri("/v1/books?limit=5")
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()));
+    }
+
+    private ConnectionPool pool() {
+        return (ConnectionPool) ((Wrapped<?>) connectionFactory).unwrap();
+    }
+
+}
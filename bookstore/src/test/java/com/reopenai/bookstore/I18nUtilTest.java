@@ -0,0 +1,83 @@
+package com.reopenai.bookstore;
+
+import com.reopenai.bookstore.bean.ErrorCode;
+import com.reopenai.bookstore.component.i18n.I18nConfig;
+import com.reopenai.bookstore.component.i18n.I18nUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The compiled messages must read exactly like the ones formatted by the message source
+ * <p>
+ * Created by Allen Huang
+ */
+public class I18nUtilTest {
+
+    @AfterEach
+    public void reset() {
+        new I18nConfig(messageSource());
+    }
+
+    @Test
+    public void applicationMessagesTest() {
+        ResourceBundleMessageSource messageSource = messageSource();
+        new I18nConfig(messageSource);
+        List<Object[]> argsList = List.of(new Object[0], new Object[]{"a"}, new Object[]{"a", "b"}, new Object[]{"a", null, "c"});
+        for (Locale locale : List.of(Locale.ENGLISH, Locale.SIMPLIFIED_CHINESE)) {
+            for (ErrorCode errorCode : ErrorCode.values()) {
+                for (Object[] args : argsList) {
+                    // twice: compiled, then cached
+                    for (int i = 0; i < 2; i++) {
+                        assertThat(I18nUtil.parseLocaleMessage(locale, errorCode, args))
+                                .isEqualTo(messageSource.getMessage(errorCode.getCode(), args, errorCode.getCode(), locale));
+                    }
+                }
+            }
+        }
+        assertThat(I18nUtil.parseLocaleMessage(Locale.ENGLISH, "unknown.code", "a")).isEqualTo("unknown.code");
+    }
+
+    @Test
+    public void argumentConversionTest() {
+        new I18nConfig(messageSource());
+        assertThat(I18nUtil.parseLocaleMessage(Locale.ENGLISH, ErrorCode.DATA_NOT_FOUND, new BigDecimal("12.500")))
+                .isEqualTo("Data does not exist: 12.5");
+        assertThat(I18nUtil.parseLocaleMessage(Locale.ENGLISH, ErrorCode.DATA_NOT_FOUND, 1234567))
+                .isEqualTo("Data does not exist: 1,234,567");
+        // the number format is not shared between threads
+        IntStream.range(0, 10_000).parallel().forEach(i ->
+                assertThat(I18nUtil.parseLocaleMessage(Locale.ENGLISH, ErrorCode.DATA_NOT_FOUND, i * 1000.5))
+                        .isEqualTo("Data does not exist: " + new java.text.DecimalFormat("#,##0.#").format(i * 1000.5)));
+    }
+
+    @Test
+    public void messageFormatPatternTest() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("quoted", Locale.ENGLISH, "It''s '{0}' and {0}");
+        messageSource.addMessage("braced", Locale.ENGLISH, "'{'{0}'}' = {1}");
+        messageSource.addMessage("reordered", Locale.ENGLISH, "{1}-{0}-{1}");
+        new I18nConfig(messageSource);
+        for (String code : List.of("quoted", "braced", "reordered")) {
+            Object[] args = {"x", "y"};
+            assertThat(I18nUtil.parseLocaleMessage(Locale.ENGLISH, code, args))
+                    .isEqualTo(messageSource.getMessage(code, args, Locale.ENGLISH));
+        }
+    }
+
+    private static ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/application");
+        messageSource.setDefaultEncoding("UTF-8");
+        return messageSource;
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.reopenai.bookstore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reopenai.bookstore.bean.ApiResponse;
+import com.reopenai.bookstore.bean.Money;
+import com.reopenai.bookstore.bean.vo.BookCategoryVO;
+import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.bean.vo.ShoppingCartVO;
+import com.reopenai.bookstore.bean.vo.SimpleBookInfoVO;
+import com.reopenai.bookstore.component.jackson.JacksonConfig;
+import com.reopenai.bookstore.component.jackson.PreEncodedList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The serializers must write what the former string conversions wrote
+ * <p>
+ * Created by Allen Huang
+ */
+public class JacksonSerializerTest {
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectMapper cborMapper;
+
+    private final ObjectMapper smileMapper;
+
+    public JacksonSerializerTest() {
+        objectMapper = builder().build();
+        cborMapper = builder().factory(new CBORFactory()).build();
+        smileMapper = builder().factory(new SmileFactory()).build();
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().jackson2ObjectMapperBuilderCustomizer().customize(builder);
+        return builder;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "0.000", "1", "-1", "12.50", "-0.05", "0.0001", "100", "1E+3", "-2.5E+2",
+            "123456789012345678", "0.123456789012345678", "1234567890123456789.5", "1E-30", "1E+40"})
+    public void bigDecimalTest(String value) throws Exception {
+        BigDecimal decimal = new BigDecimal(value);
+        assertThat(objectMapper.writeValueAsString(decimal))
+                .isEqualTo("\"" + decimal.stripTrailingZeros().toPlainString() + "\"");
+    }
+
+    @Test
+    public void moneyTest() throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 10_000; i++) {
+            Money money = Money.ofMinorUnits(random.nextLong(-1_000_000_000L, 1_000_000_000L));
+            assertThat(objectMapper.writeValueAsString(money)).isEqualTo("\"" + money.toString() + "\"");
+        }
+        for (long minorUnits : new long[]{0, 1, -1, 10_000, -10_000, 120_000, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            Money money = Money.ofMinorUnits(minorUnits);
+            assertThat(objectMapper.writeValueAsString(money)).isEqualTo("\"" + money.toString() + "\"");
+        }
+    }
+
+    @Test
+    public void numberTest() throws Exception {
+        for (Number number : new Number[]{0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 42, Integer.MIN_VALUE, (short) 7, (byte) -3, 1.5d}) {
+            assertThat(objectMapper.writeValueAsString(number)).isEqualTo("\"" + number + "\"");
+        }
+    }
+
+    @Test
+    public void localDateTimeTest() throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime base = LocalDateTime.of(1960, 1, 1, 0, 0);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime time = base.plusSeconds(random.nextLong(0, 100L * 365 * 24 * 3600)).withNano(random.nextInt(1_000_000_000));
+            long expected = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            assertThat(objectMapper.writeValueAsString(time)).isEqualTo(String.valueOf(expected));
+        }
+        assertThat(objectMapper.writeValueAsString(LocalDateTime.MAX)).isEqualTo(String.valueOf(Long.MAX_VALUE));
+        assertThat(objectMapper.writeValueAsString(LocalDateTime.MIN)).isEqualTo("0");
+    }
+
+    @Test
+    public void binaryFormatTest() throws Exception {
+        BookDetailVO book = new BookDetailVO();
+        book.setId(1234567890123L);
+        book.setTitle("Структура и интерпретация компьютерных программ");
+        book.setAuthor("Harold Abelson");
+        book.setCategoryId(7L);
+        book.setCategoryName("计算机");
+        book.setPrice(Money.ofMinorUnits(5_990_000));
+
+        SimpleBookInfoVO bookInfo = new SimpleBookInfoVO();
+        bookInfo.setId(book.getId());
+        bookInfo.setTitle(book.getTitle());
+        bookInfo.setPrice(book.getPrice());
+        ShoppingCartVO cartItem = new ShoppingCartVO();
+        cartItem.setId(42L);
+        cartItem.setBookInfo(bookInfo);
+        cartItem.setQuantity(3);
+        cartItem.setCreatedTime(LocalDateTime.of(2025, 6, 1, 12, 0, 0, 123_000_000));
+        cartItem.setUpdatedTime(LocalDateTime.of(2025, 6, 2, 8, 30));
+
+        // every format carries the same values as the JSON response
+        for (Object value : List.of(ApiResponse.success(book), ApiResponse.success(List.of(cartItem)))) {
+            var expected = objectMapper.readTree(objectMapper.writeValueAsBytes(value));
+            assertThat(cborMapper.readTree(cborMapper.writeValueAsBytes(value))).isEqualTo(expected);
+            assertThat(smileMapper.readTree(smileMapper.writeValueAsBytes(value))).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void preEncodedListTest() throws Exception {
+        List<BookCategoryVO> categories = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            BookCategoryVO category = new BookCategoryVO();
+            category.setId(id);
+            category.setName("category \"" + id + "\" 分类");
+            categories.add(category);
+        }
+        PreEncodedList<BookCategoryVO> encoded = PreEncodedList.encode(categories, objectMapper);
+        assertThat(encoded).isEqualTo(categories);
+
+        Object expected = ApiResponse.success(categories);
+        Object actual = ApiResponse.success(encoded);
+        assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected));
+        // binary formats cannot take the raw JSON, they serialize the elements
+        assertThat(cborMapper.readTree(cborMapper.writeValueAsBytes(actual)))
+                .isEqualTo(cborMapper.readTree(cborMapper.writeValueAsBytes(expected)));
+        assertThat(smileMapper.readTree(smileMapper.writeValueAsBytes(actual)))
+                .isEqualTo(smileMapper.readTree(smileMapper.writeValueAsBytes(expected)));
+        assertThat(objectMapper.valueToTree(actual).equals(objectMapper.valueToTree(expected))).isTrue();
+    }
+
+}
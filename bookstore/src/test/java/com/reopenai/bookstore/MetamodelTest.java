@@ -0,0 +1,44 @@
+package com.reopenai.bookstore;
+
+import com.reopenai.bookstore.bean.entity.BookInfo;
+import com.reopenai.bookstore.bean.entity.BookInfo_;
+import com.reopenai.bookstore.bean.entity.ShoppingCart;
+import com.reopenai.bookstore.bean.entity.ShoppingCart_;
+import com.reopenai.bookstore.component.database.condition.LambdaEaseQuery;
+import com.reopenai.bookstore.component.lambda.XLambdaUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created by Allen Huang
+ */
+public class MetamodelTest {
+
+    @Test
+    public void columnNameTest() {
+        assertThat(BookInfo_.ID.getName()).isEqualTo(XLambdaUtil.property(BookInfo::getId));
+        assertThat(BookInfo_.CATEGORY_ID.getName()).isEqualTo(XLambdaUtil.property(BookInfo::getCategoryId));
+        assertThat(BookInfo_.UPDATED_TIME.getName()).isEqualTo(XLambdaUtil.property(BookInfo::getUpdatedTime));
+        assertThat(ShoppingCart_.USER_ID.getName()).isEqualTo(XLambdaUtil.property(ShoppingCart::getUserId));
+    }
+
+    @Test
+    public void sameQueryTest() {
+        LambdaEaseQuery<ShoppingCart> lambda = new LambdaEaseQuery<ShoppingCart>()
+                .eq(ShoppingCart::getUserId, 1L)
+                .in(ShoppingCart::getBookId, List.of(1L, 2L))
+                .lt(ShoppingCart::getId, 10L)
+                .orderByDesc(ShoppingCart::getId);
+        LambdaEaseQuery<ShoppingCart> metamodel = new LambdaEaseQuery<ShoppingCart>()
+                .eq(ShoppingCart_.USER_ID, 1L)
+                .in(ShoppingCart_.BOOK_ID, List.of(1L, 2L))
+                .lt(ShoppingCart_.ID, 10L)
+                .orderByDesc(ShoppingCart_.ID);
+        assertThat(metamodel.asCriteria().toString()).isEqualTo(lambda.asCriteria().toString());
+        assertThat(metamodel.asQuery().getSort()).isEqualTo(lambda.asQuery().getSort());
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.reopenai.bookstore;
+
+import com.reopenai.bookstore.bean.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created by Allen Huang
+ */
+public class MoneyTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "1", "12.5", "0.05", "0.0001", "-0.5", "-12.3456", "100", "922337203685477.5807"})
+    public void toStringTest(String value) {
+        BigDecimal expected = new BigDecimal(value);
+        Money money = Money.of(expected);
+        assertThat(money.toString()).isEqualTo(expected.stripTrailingZeros().toPlainString());
+        assertThat(money.toBigDecimal()).isEqualByComparingTo(expected);
+    }
+
+    @Test
+    public void arithmeticTest() {
+        Money price = Money.of(new BigDecimal("19.99"));
+        assertThat(price.getMinorUnits()).isEqualTo(199900L);
+        assertThat(price.multiply(3)).isEqualTo(Money.of(new BigDecimal("59.97")));
+        assertThat(price.add(Money.ofMinorUnits(1))).isEqualTo(Money.of(new BigDecimal("19.9901")));
+        assertThat(Money.of(new BigDecimal("1.5000"))).isEqualTo(Money.of(new BigDecimal("1.5")));
+        assertThat(Money.ofMinorUnits(0)).isSameAs(Money.ZERO);
+    }
+
+    @Test
+    public void exactnessTest() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.00001")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("922337203685477.5808")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal(Money.MAX_VALUE)).add(Money.ofMinorUnits(1)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1000000000000")).multiply(1_000_000))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.reopenai.bookstore;
+
+import com.reopenai.bookstore.bean.vo.BookCategoryVO;
+import com.reopenai.bookstore.component.cache.CatalogVersion;
+import com.reopenai.bookstore.controller.CategoryController;
+import com.reopenai.bookstore.service.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Created by Allen Huang
+ */
+@Import(CatalogVersion.class)
+@WebFluxTest(controllers = CategoryController.class, properties = {
+        "bookstore.rate-limit.enabled=true",
+        "bookstore.rate-limit.catalog.capacity=2",
+        "bookstore.rate-limit.catalog.refill-per-second=0.01",
+        "bookstore.rate-limit.admin.capacity=1",
+        "bookstore.rate-limit.admin.refill-per-second=0.01"
+})
+class RateLimitFilterTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private CategoryService categoryService;
+
+    @BeforeEach
+    public void setup() {
+        when(categoryService.query(any()))
+                .thenAnswer(i -> Mono.just(Collections.emptyList()));
+        when(categoryService.create(any()))
+                .thenAnswer(i -> Mono.just(new BookCategoryVO()));
+    }
+
+    @Test
+    public void rateLimitTest() {
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get()
+                    .uri("/v1/categories?limit=10")
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+        webTestClient.get()
+                .uri("/v1/categories?limit=10")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+                .expectBody().jsonPath("$.code").isEqualTo("429");
+
+        // the route groups are limited independently
+        webTestClient.post()
+                .uri("/v1/admin/categories")
+                .bodyValue(Collections.singletonMap("name", "Fiction"))
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.post()
+                .uri("/v1/admin/categories")
+                .bodyValue(Collections.singletonMap("name", "Fiction"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.reopenai.bookstore;
+
+import com.reopenai.bookstore.component.ratelimit.RateLimitProperties;
+import com.reopenai.bookstore.component.ratelimit.RateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created by Allen Huang
+ */
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(123_456_789L);
+
+    @Test
+    public void burstTest() {
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties.Limit(5, 10), 100, clock::get);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(1L)).isZero();
+        }
+        // a full bucket of 5 is spent, the next token comes after 1/10 s
+        assertThat(limiter.tryAcquire(1L)).isEqualTo(SECOND / 10);
+        // other users have their own bucket
+        assertThat(limiter.tryAcquire(2L)).isZero();
+
+        clock.addAndGet(SECOND / 20);
+        assertThat(limiter.tryAcquire(1L)).isEqualTo(SECOND / 20);
+        clock.addAndGet(SECOND / 20);
+        assertThat(limiter.tryAcquire(1L)).isZero();
+        assertThat(limiter.tryAcquire(1L)).isPositive();
+    }
+
+    @Test
+    public void refillTest() {
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties.Limit(3, 1), 100, clock::get);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(1L)).isZero();
+        }
+        assertThat(limiter.tryAcquire(1L)).isPositive();
+        // idle for longer than a refill: the bucket holds its capacity, not more
+        clock.addAndGet(60 * SECOND);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(1L)).isZero();
+        }
+        assertThat(limiter.tryAcquire(1L)).isPositive();
+    }
+
+    @Test
+    public void concurrentTest() {
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties.Limit(100, 1), 100, clock::get);
+        AtomicInteger admitted = new AtomicInteger();
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            if (limiter.tryAcquire(1L) == 0) {
+                admitted.incrementAndGet();
+            }
+        });
+        assertThat(admitted.get()).isEqualTo(100);
+    }
+
+}
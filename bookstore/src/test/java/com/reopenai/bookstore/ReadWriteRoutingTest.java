@@ -0,0 +1,180 @@
+package com.reopenai.bookstore;
+
+import com.reopenai.bookstore.bean.entity.ShoppingCart;
+import com.reopenai.bookstore.bean.request.AddCartItemRequest;
+import com.reopenai.bookstore.bean.request.QueryCartItemsRequest;
+import com.reopenai.bookstore.component.database.ConnectionRouting;
+import com.reopenai.bookstore.service.ShoppingCartService;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+/**
+ * Two H2 databases stand for the primary and the read replica, the replica has a cart item the primary does not have.
+ * <p>
+ * Created by Allen Huang
+ */
+@SpringBootTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///routingprimarydb;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "bookstore.r2dbc.read.enabled=true",
+        "bookstore.r2dbc.read.url=r2dbc:h2:mem:///routingreaddb;DB_CLOSE_DELAY=-1",
+        "bookstore.r2dbc.read.pool.max-size=1",
+        "bookstore.r2dbc.read.pool.initial-size=1",
+        "bookstore.r2dbc.read.pool.max-acquire-time=1s",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:ddl/v1.sql"
+})
+public class ReadWriteRoutingTest {
+
+    private static final long REPLICA_USER_ID = 900L;
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Autowired
+    @Qualifier("readConnectionFactory")
+    private ConnectionFactory readConnectionFactory;
+
+    @BeforeEach
+    public void setup() {
+        new ResourceDatabasePopulator(new ClassPathResource("ddl/v1.sql"))
+                .populate(readConnectionFactory)
+                .block();
+        DatabaseClient.create(readConnectionFactory)
+                .sql("MERGE INTO shopping_cart (user_id, book_id, quantity) KEY (user_id, book_id) VALUES (:userId, 1, 3)")
+                .bind("userId", REPLICA_USER_ID)
+                .then()
+                .block();
+    }
+
+    @Test
+    public void routingTest() {
+        // reads are served by the replica
+        StepVerifier.create(shoppingCartService.queryItems(queryRequest(REPLICA_USER_ID)))
+                .assertNext(items -> {
+                    assertThat(items).hasSize(1);
+                    assertThat(items.get(0).getQuantity()).isEqualTo(3);
+                })
+                .verifyComplete();
+        assertThat(countOnPrimary(REPLICA_USER_ID)).isZero();
+
+        // writes go to the primary
+        StepVerifier.create(shoppingCartService.addItem(addRequest(901L)))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertThat(countOnPrimary(901L)).isEqualTo(1);
+        StepVerifier.create(shoppingCartService.queryItems(queryRequest(901L)))
+                .assertNext(items -> assertThat(items).isEmpty())
+                .verifyComplete();
+
+        // the checkout reads the primary, it sees the item the replica does not have yet
+        StepVerifier.create(shoppingCartService.checkout(901L))
+                .assertNext(checkout -> assertThat(checkout.getItems()).hasSize(1))
+                .verifyComplete();
+        StepVerifier.create(shoppingCartService.checkout(REPLICA_USER_ID))
+                .assertNext(checkout -> assertThat(checkout.getItems()).isEmpty())
+                .verifyComplete();
+
+        // writes inside a read still run on the primary, with or without a transaction
+        StepVerifier.create(ConnectionRouting.read(shoppingCartService.addItem(addRequest(902L))))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertThat(countOnPrimary(902L)).isEqualTo(1);
+        StepVerifier.create(ConnectionRouting.read(shoppingCartService.removeItem(902L, 1L)))
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(countOnPrimary(902L)).isZero();
+    }
+
+    @Test
+    public void saturatedReadPoolTest() {
+        Connection held = Mono.from(readConnectionFactory.create()).block();
+        try {
+            // the writes keep their pool while the reads wait for theirs
+            StepVerifier.create(shoppingCartService.addItem(addRequest(903L)))
+                    .expectNextCount(1)
+                    .expectComplete()
+                    .verify(Duration.ofMillis(500));
+            StepVerifier.create(shoppingCartService.queryItems(queryRequest(903L)))
+                    .expectError()
+                    .verify(Duration.ofSeconds(5));
+        } finally {
+            Mono.from(held.close()).block();
+        }
+        assertThat(countOnPrimary(903L)).isEqualTo(1);
+    }
+
+    private long countOnPrimary(long userId) {
+        Long count = template.count(query(where("user_id").is(userId)), ShoppingCart.class).block();
+        return count == null ? 0 : count;
+    }
+
+    private static AddCartItemRequest addRequest(long userId) {
+        AddCartItemRequest request = new AddCartItemRequest();
+        request.setUserId(userId);
+        request.setBookId(1L);
+        request.setQuantity(1);
+        return request;
+    }
+
+    private static QueryCartItemsRequest queryRequest(long userId) {
+        QueryCartItemsRequest request = new QueryCartItemsRequest();
+        request.setUserId(userId);
+        return request;
+    }
+
+    @Test
+    public void disposeTest() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BookstoreApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.r2dbc.url=r2dbc:h2:mem:///disposeprimarydb;DB_CLOSE_DELAY=-1",
+                        "spring.r2dbc.username=sa",
+                        "bookstore.r2dbc.read.enabled=true",
+                        "bookstore.r2dbc.read.url=r2dbc:h2:mem:///disposereaddb;DB_CLOSE_DELAY=-1")
+                .run();
+        ConnectionPool primary = pool(context, "connectionFactory");
+        ConnectionPool read = pool(context, "readConnectionFactory");
+        assertThat(primary.isDisposed()).isFalse();
+        assertThat(read.isDisposed()).isFalse();
+        // the beans are the metered wrappers, they dispose the pools
+        assertThat(context.getBean("connectionFactory")).isInstanceOf(Disposable.class);
+        assertThat(context.getBean("readConnectionFactory")).isInstanceOf(Disposable.class);
+
+        context.close();
+        assertThat(primary.isDisposed()).isTrue();
+        assertThat(read.isDisposed()).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConnectionPool pool(ConfigurableApplicationContext context, String name) {
+        return (ConnectionPool) context.getBean(name, Wrapped.class).unwrap();
+    }
+
+}
@@ -1,8 +1,11 @@
 package com.reopenai.bookstore;
 
 import com.reopenai.bookstore.bean.request.AddCartItemRequest;
+import com.reopenai.bookstore.bean.request.BatchCartItemsRequest;
+import com.reopenai.bookstore.bean.request.CartItemOperation;
 import com.reopenai.bookstore.bean.request.ReduceCartItemRequest;
 import com.reopenai.bookstore.bean.vo.ShoppingCartVO;
+import com.reopenai.bookstore.component.i18n.I18nConfig;
 import com.reopenai.bookstore.controller.ShoppingCartController;
 import com.reopenai.bookstore.service.ShoppingCartService;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,20 +14,26 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 /**
  * Created by Allen Huang
  */
+@Import(I18nConfig.class)
 @WebFluxTest(ShoppingCartController.class)
 public class ShoppingCartControllerTest {
 
@@ -42,6 +51,10 @@ public class ShoppingCartControllerTest {
                 .thenAnswer(i -> Mono.just(new ShoppingCartVO()));
         when(shoppingCartService.queryItems(any()))
                 .thenAnswer(i -> Mono.just(Collections.emptyList()));
+        when(shoppingCartService.batchUpdateItems(any()))
+                .thenAnswer(i -> Mono.just(Collections.emptyList()));
+        when(shoppingCartService.streamItems(any()))
+                .thenAnswer(i -> Flux.just(new ShoppingCartVO()));
     }
 
     @ParameterizedTest
@@ -90,6 +103,33 @@ public class ShoppingCartControllerTest {
         );
     }
 
+    @ParameterizedTest
+    @MethodSource("batchRequestsProvider")
+    public void batchUpdateItemsTest(BatchCartItemsRequest request, HttpStatus status) {
+        webTestClient.post()
+                .uri("/v1/shopping-cart/items:batch")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(status.value());
+    }
+
+    private static Stream<Arguments> batchRequestsProvider() {
+        CartItemOperation add = new CartItemOperation(CartItemOperation.Type.ADD, 1L, 1);
+        CartItemOperation remove = new CartItemOperation(CartItemOperation.Type.REMOVE, 2L, 1);
+        return Stream.of(
+                Arguments.of(new BatchCartItemsRequest(List.of(add, remove), null), HttpStatus.OK),
+                Arguments.of(new BatchCartItemsRequest(null, null), HttpStatus.BAD_REQUEST),
+                Arguments.of(new BatchCartItemsRequest(Collections.emptyList(), null), HttpStatus.BAD_REQUEST),
+                Arguments.of(new BatchCartItemsRequest(Collections.nCopies(201, add), null), HttpStatus.BAD_REQUEST),
+                Arguments.of(new BatchCartItemsRequest(List.of(new CartItemOperation(null, 1L, 1)), null), HttpStatus.BAD_REQUEST),
+                Arguments.of(new BatchCartItemsRequest(List.of(new CartItemOperation(CartItemOperation.Type.ADD, 0L, 1)), null), HttpStatus.BAD_REQUEST),
+                Arguments.of(new BatchCartItemsRequest(List.of(new CartItemOperation(CartItemOperation.Type.REDUCE, 1L, 0)), null), HttpStatus.BAD_REQUEST),
+                Arguments.of(new BatchCartItemsRequest(List.of(new CartItemOperation(CartItemOperation.Type.ADD, 1L, 10000)), null), HttpStatus.OK),
+                Arguments.of(new BatchCartItemsRequest(List.of(new CartItemOperation(CartItemOperation.Type.ADD, 1L, 10001)), null), HttpStatus.BAD_REQUEST)
+        );
+    }
+
 
     @ParameterizedTest
     @MethodSource("positiveQueryRequestsProvider")
@@ -147,4 +187,50 @@ public class ShoppingCartControllerTest {
                 Arguments.of(null, -1L)
         );
     }
+
+    @ParameterizedTest
+    @MethodSource("streamRequestsProvider")
+    public void streamItemsTest(Integer limit, MediaType mediaType, HttpStatus status) {
+        webTestClient.get()
+                .uri(builder -> builder.path("/v1/shopping-cart:stream").queryParam("limit", limit).build())
+                .accept(mediaType)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(status.value());
+    }
+
+    private static Stream<Arguments> streamRequestsProvider() {
+        return Stream.of(
+                Arguments.of(1, MediaType.APPLICATION_NDJSON, HttpStatus.OK),
+                Arguments.of(10000, MediaType.APPLICATION_NDJSON, HttpStatus.OK),
+                Arguments.of(10000, MediaType.TEXT_EVENT_STREAM, HttpStatus.OK),
+                Arguments.of(0, MediaType.APPLICATION_NDJSON, HttpStatus.BAD_REQUEST),
+                Arguments.of(10001, MediaType.APPLICATION_NDJSON, HttpStatus.BAD_REQUEST),
+                Arguments.of(10001, MediaType.TEXT_EVENT_STREAM, HttpStatus.BAD_REQUEST)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("mismatchedBookIdsProvider")
+    public void typeMismatchTest(String bookId) {
+        webTestClient.delete()
+                .uri(builder -> builder.path("/v1/shopping-cart/items").queryParam("bookId", "{bookId}").build(bookId))
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("4004")
+                .jsonPath("$.message").value(message -> assertThat((String) message).contains("bookId", bookId));
+    }
+
+    private static Stream<Arguments> mismatchedBookIdsProvider() {
+        return Stream.of(
+                Arguments.of("abc"),
+                Arguments.of("1.5"),
+                Arguments.of("\"quoted\" \\ value")
+        );
+    }
+
 }
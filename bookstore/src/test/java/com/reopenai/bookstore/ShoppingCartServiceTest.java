@@ -0,0 +1,472 @@
+package com.reopenai.bookstore;
+
+import com.reopenai.bookstore.bean.ErrorCode;
+import com.reopenai.bookstore.bean.Money;
+import com.reopenai.bookstore.bean.entity.BookInfo;
+import com.reopenai.bookstore.bean.entity.ShoppingCart;
+import com.reopenai.bookstore.bean.request.AddBookRequest;
+import com.reopenai.bookstore.bean.request.AddCartItemRequest;
+import com.reopenai.bookstore.bean.request.BatchCartItemsRequest;
+import com.reopenai.bookstore.bean.request.CartItemOperation;
+import com.reopenai.bookstore.bean.request.QueryCartItemsRequest;
+import com.reopenai.bookstore.bean.request.ReduceCartItemRequest;
+import com.reopenai.bookstore.bean.request.UpdateBookRequest;
+import com.reopenai.bookstore.bean.vo.BookDetailVO;
+import com.reopenai.bookstore.bean.vo.ShoppingCartVO;
+import com.reopenai.bookstore.bean.vo.SimpleCartItemVO;
+import com.reopenai.bookstore.component.cache.BookInfoCache;
+import com.reopenai.bookstore.component.cache.BookInfoCacheProperties;
+import com.reopenai.bookstore.repository.BookInfoRepository;
+import com.reopenai.bookstore.service.BookInfoService;
+import com.reopenai.bookstore.service.ShoppingCartService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.reopenai.bookstore.bean.request.CartItemOperation.Type.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Created by Allen Huang
+ */
+public class ShoppingCartServiceTest extends BaseServiceTest {
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private BookInfoService bookInfoService;
+
+    @Autowired
+    private BookInfoCache bookInfoCache;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Test
+    public void addItemTest() {
+        AddCartItemRequest request = new AddCartItemRequest();
+        request.setQuantity(1);
+        request.setBookId(-1L);
+        request.setUserId(1L);
+        StepVerifier.create(shoppingCartService.addItem(request))
+                .expectErrorSatisfies(ex -> matchBizError(ex, ErrorCode.DATA_NOT_FOUND))
+                .verify();
+
+        request.setBookId(1L);
+        StepVerifier.create(shoppingCartService.addItem(request))
+                .assertNext(item -> {
+                    assertThat(item.getCreatedTime()).isEqualTo(item.getUpdatedTime());
+                    assertThat(item.getQuantity()).isEqualTo(1);
+                    assertThat(item.getBookInfo()).isNotNull();
+                })
+                .verifyComplete();
+
+        StepVerifier.create(shoppingCartService.addItem(request))
+                .assertNext(item -> {
+                    assertThat(item.getCreatedTime()).isBefore(item.getUpdatedTime());
+                    assertThat(item.getQuantity()).isEqualTo(2);
+                    assertThat(item.getBookInfo()).isNotNull();
+                })
+                .verifyComplete();
+
+        // concurrent first adds of the same item must not fail on the unique key
+        AddCartItemRequest concurrentRequest = new AddCartItemRequest();
+        concurrentRequest.setQuantity(1);
+        concurrentRequest.setUserId(4L);
+        concurrentRequest.setBookId(1L);
+        StepVerifier.create(Flux.range(0, 8)
+                        .flatMap(i -> shoppingCartService.addItem(concurrentRequest).subscribeOn(Schedulers.parallel()))
+                        .then())
+                .verifyComplete();
+
+        StepVerifier.create(shoppingCartService.checkout(4L))
+                .assertNext(entity -> {
+                    assertThat(entity.getItems().size()).isEqualTo(1);
+                    assertThat(entity.getItems().get(0).getQuantity()).isEqualTo(8);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void queryItemTest() {
+        for (long i = 2; i < 10; i++) {
+            AddCartItemRequest request = new AddCartItemRequest();
+            request.setQuantity(1);
+            request.setUserId(1L);
+            request.setBookId(i);
+            shoppingCartService.addItem(request).block();
+        }
+
+        QueryCartItemsRequest queryRequest = new QueryCartItemsRequest();
+        queryRequest.setUserId(1L);
+        StepVerifier.create(shoppingCartService.queryItems(queryRequest))
+                .assertNext(entities -> {
+                    assertThat(entities).isNotEmpty();
+                    for (ShoppingCartVO entity : entities) {
+                        assertThat(entity.getBookInfo()).isNotNull();
+                    }
+                })
+                .verifyComplete();
+
+        queryRequest.setLimit(2);
+        StepVerifier.create(shoppingCartService.queryItems(queryRequest))
+                .assertNext(entities -> {
+                    assertThat(entities.size()).isEqualTo(2);
+                    for (ShoppingCartVO entity : entities) {
+                        assertThat(entity.getBookInfo()).isNotNull();
+                    }
+                })
+                .verifyComplete();
+
+        queryRequest.setCursor(3L);
+        StepVerifier.create(shoppingCartService.queryItems(queryRequest))
+                .assertNext(entities -> {
+                    assertThat(entities.size()).isEqualTo(2);
+                    assertThat(entities.get(0).getId()).isEqualTo(2L);
+                    for (ShoppingCartVO entity : entities) {
+                        assertThat(entity.getBookInfo()).isNotNull();
+                    }
+                })
+                .verifyComplete();
+
+        queryRequest.setCursor(null);
+        queryRequest.setLimit(100);
+        List<ShoppingCartVO> items = shoppingCartService.queryItems(queryRequest).block();
+        StepVerifier.create(shoppingCartService.streamItems(queryRequest))
+                .expectNextSequence(items)
+                .verifyComplete();
+    }
+
+    @Test
+    public void removeItemTest() {
+        template.delete(Query.empty(), ShoppingCart.class).block();
+        StepVerifier.create(shoppingCartService.removeItem(1L, 1L))
+                .assertNext(result -> assertThat(result).isFalse())
+                .verifyComplete();
+
+        AddCartItemRequest request = new AddCartItemRequest();
+        request.setQuantity(1);
+        request.setUserId(1L);
+        request.setBookId(1L);
+        shoppingCartService.addItem(request).block();
+
+        StepVerifier.create(shoppingCartService.removeItem(1L, 1L))
+                .assertNext(result -> assertThat(result).isTrue())
+                .verifyComplete();
+
+        StepVerifier.create(shoppingCartService.removeItem(1L, 1L))
+                .assertNext(result -> assertThat(result).isFalse())
+                .verifyComplete();
+    }
+
+    @Test
+    public void reduceItemQuantityTest() {
+        template.delete(Query.empty(), ShoppingCart.class).block();
+
+        ReduceCartItemRequest request = new ReduceCartItemRequest();
+        request.setQuantity(1);
+        request.setUserId(1L);
+        request.setBookId(1L);
+
+        StepVerifier.create(shoppingCartService.reduceItemQuantity(request))
+                .assertNext(entity -> {
+                    assertThat(entity.getCreatedTime()).isEqualTo(entity.getUpdatedTime());
+                    assertThat(entity.getQuantity()).isEqualTo(0);
+                    assertThat(entity.getBookInfo()).isNotNull();
+                })
+                .verifyComplete();
+
+        AddCartItemRequest addRequest = new AddCartItemRequest();
+        addRequest.setQuantity(2);
+        addRequest.setUserId(1L);
+        addRequest.setBookId(1L);
+        shoppingCartService.addItem(addRequest).block();
+
+        StepVerifier.create(shoppingCartService.reduceItemQuantity(request))
+                .assertNext(entity -> {
+                    assertThat(entity.getCreatedTime()).isBefore(entity.getUpdatedTime());
+                    assertThat(entity.getQuantity()).isEqualTo(1);
+                    assertThat(entity.getBookInfo()).isNotNull();
+                })
+                .verifyComplete();
+
+        StepVerifier.create(shoppingCartService.reduceItemQuantity(request))
+                .assertNext(entity -> {
+                    assertThat(entity.getCreatedTime()).isBefore(entity.getUpdatedTime());
+                    assertThat(entity.getQuantity()).isEqualTo(0);
+                    assertThat(entity.getBookInfo()).isNotNull();
+                })
+                .verifyComplete();
+
+        // reducing more than is left removes the item
+        addRequest.setQuantity(3);
+        shoppingCartService.addItem(addRequest).block();
+        request.setQuantity(2);
+        StepVerifier.create(shoppingCartService.reduceItemQuantity(request))
+                .assertNext(entity -> assertThat(entity.getQuantity()).isEqualTo(1))
+                .verifyComplete();
+        request.setQuantity(5);
+        StepVerifier.create(shoppingCartService.reduceItemQuantity(request))
+                .assertNext(entity -> assertThat(entity.getQuantity()).isEqualTo(0))
+                .verifyComplete();
+        StepVerifier.create(shoppingCartService.checkout(1L))
+                .assertNext(entity -> assertThat(entity.getItems()).isEmpty())
+                .verifyComplete();
+
+        request.setBookId(-1L);
+        StepVerifier.create(shoppingCartService.reduceItemQuantity(request))
+                .expectErrorSatisfies(ex -> matchBizError(ex, ErrorCode.DATA_NOT_FOUND))
+                .verify();
+    }
+
+    @Test
+    public void reduceMissingBookTest() {
+        template.delete(Query.empty(), ShoppingCart.class).block();
+        // an item left in the cart of a book that no longer exists
+        ShoppingCart item = new ShoppingCart();
+        item.setUserId(1L);
+        item.setBookId(Long.MAX_VALUE);
+        item.setQuantity(3);
+        template.insert(item).block();
+
+        ReduceCartItemRequest request = new ReduceCartItemRequest();
+        request.setUserId(1L);
+        request.setBookId(Long.MAX_VALUE);
+        for (int quantity : new int[]{1, 5}) {
+            request.setQuantity(quantity);
+            StepVerifier.create(shoppingCartService.reduceItemQuantity(request))
+                    .expectErrorSatisfies(ex -> matchBizError(ex, ErrorCode.DATA_NOT_FOUND))
+                    .verify();
+            // the book is checked first, the item is neither decreased nor removed
+            StepVerifier.create(template.selectOne(Query.query(Criteria.where("bookId").is(Long.MAX_VALUE)), ShoppingCart.class))
+                    .assertNext(entity -> assertThat(entity.getQuantity()).isEqualTo(3))
+                    .verifyComplete();
+        }
+        template.delete(Query.empty(), ShoppingCart.class).block();
+    }
+
+    @Test
+    public void checkoutTest() {
+        template.delete(Query.empty(), ShoppingCart.class).block();
+        StepVerifier.create(shoppingCartService.checkout(1L))
+                .assertNext(entity -> {
+                    assertThat(entity.getItems()).isEmpty();
+                    assertThat(entity.getTotalPrice()).isEqualTo(Money.ZERO);
+                })
+                .verifyComplete();
+
+        for (long i = 1; i < 5; i++) {
+            AddCartItemRequest request = new AddCartItemRequest();
+            request.setQuantity(1);
+            request.setUserId(1L);
+            request.setBookId(i);
+            shoppingCartService.addItem(request).block();
+        }
+
+        StepVerifier.create(shoppingCartService.checkout(1L))
+                .assertNext(entity -> {
+                    assertThat(entity.getItems()).isNotEmpty();
+                    Money amount = Money.ZERO;
+                    for (SimpleCartItemVO item : entity.getItems()) {
+                        assertThat(item.getTotalPrice()).isEqualTo(item.getPrice().multiply(item.getQuantity()));
+                        amount = amount.add(item.getTotalPrice());
+                    }
+                    assertThat(entity.getTotalPrice()).isEqualTo(amount);
+                })
+                .verifyComplete();
+
+        // items whose book no longer exists are skipped
+        Money totalPrice = shoppingCartService.checkout(1L).block().getTotalPrice();
+        ShoppingCart orphan = new ShoppingCart();
+        orphan.setUserId(1L);
+        orphan.setBookId(Long.MAX_VALUE);
+        orphan.setQuantity(3);
+        template.insert(orphan).block();
+        StepVerifier.create(shoppingCartService.checkout(1L))
+                .assertNext(entity -> {
+                    assertThat(entity.getItems().size()).isEqualTo(4);
+                    assertThat(entity.getItems().get(0).getBookId()).isEqualTo(1L);
+                    assertThat(entity.getTotalPrice()).isEqualTo(totalPrice);
+                })
+                .verifyComplete();
+        template.delete(orphan).block();
+    }
+
+    @Test
+    public void bookInfoCacheTest() {
+        AddBookRequest addBookRequest = new AddBookRequest();
+        addBookRequest.setTitle("Cached Book");
+        addBookRequest.setAuthor("Cached Author");
+        addBookRequest.setCategoryId(1L);
+        addBookRequest.setPrice(BigDecimal.ONE);
+        BookDetailVO book = bookInfoService.addBook(addBookRequest).block();
+        assertThat(book).isNotNull();
+
+        AddCartItemRequest request = new AddCartItemRequest();
+        request.setQuantity(1);
+        request.setUserId(3L);
+        request.setBookId(book.getId());
+        shoppingCartService.addItem(request).block();
+        long hitCount = bookInfoCache.stats().hitCount();
+        StepVerifier.create(shoppingCartService.addItem(request))
+                .assertNext(item -> assertThat(item.getBookInfo().getTitle()).isEqualTo("Cached Book"))
+                .verifyComplete();
+        assertThat(bookInfoCache.stats().hitCount()).isEqualTo(hitCount + 1);
+
+        UpdateBookRequest updateRequest = new UpdateBookRequest();
+        updateRequest.setId(book.getId());
+        updateRequest.setCategoryId(1L);
+        updateRequest.setTitle("Cached Book Update");
+        updateRequest.setAuthor("Cached Author");
+        updateRequest.setPrice(BigDecimal.TEN);
+        bookInfoService.updateBook(updateRequest).block();
+
+        QueryCartItemsRequest queryRequest = new QueryCartItemsRequest();
+        queryRequest.setUserId(3L);
+        StepVerifier.create(shoppingCartService.queryItems(queryRequest))
+                .assertNext(items -> {
+                    assertThat(items.size()).isEqualTo(1);
+                    assertThat(items.get(0).getBookInfo().getTitle()).isEqualTo("Cached Book Update");
+                })
+                .verifyComplete();
+        StepVerifier.create(shoppingCartService.checkout(3L))
+                .assertNext(entity -> assertThat(entity.getTotalPrice()).isEqualTo(Money.of(new BigDecimal("20"))))
+                .verifyComplete();
+    }
+
+    @Test
+    public void bookInfoCacheRaceTest() {
+        BookInfoRepository repository = mock(BookInfoRepository.class);
+        BookInfoCache cache = new BookInfoCache(repository, new BookInfoCacheProperties());
+        BookInfo stale = new BookInfo();
+        stale.setId(1L);
+        stale.setTitle("stale");
+        BookInfo fresh = new BookInfo();
+        fresh.setId(1L);
+        fresh.setTitle("fresh");
+
+        // the old row is read, the update commits and invalidates, then the read completes
+        Sinks.One<BookInfo> staleRead = Sinks.one();
+        when(repository.findById(1L)).thenReturn(staleRead.asMono(), Mono.just(fresh));
+        CompletableFuture<BookInfo> load = cache.get(1L).toFuture();
+        cache.invalidate(1L);
+        staleRead.tryEmitValue(stale);
+        assertThat(load.join()).isSameAs(stale);
+        // the late read is not kept, the next lookup reads the book again and caches it
+        StepVerifier.create(cache.get(1L))
+                .expectNext(fresh)
+                .verifyComplete();
+        StepVerifier.create(cache.get(1L))
+                .expectNext(fresh)
+                .verifyComplete();
+        verify(repository, times(2)).findById(1L);
+
+        // same for books loaded in a batch
+        Sinks.One<BookInfo> staleBatch = Sinks.one();
+        when(repository.findAllById(List.of(1L))).thenReturn(staleBatch.asMono().flux(), Flux.just(fresh));
+        cache.invalidate(1L);
+        CompletableFuture<Map<Long, BookInfo>> batch = cache.getAll(List.of(1L)).toFuture();
+        cache.invalidate(1L);
+        staleBatch.tryEmitValue(stale);
+        assertThat(batch.join().get(1L)).isSameAs(stale);
+        StepVerifier.create(cache.getAll(List.of(1L)))
+                .assertNext(books -> assertThat(books.get(1L)).isSameAs(fresh))
+                .verifyComplete();
+        StepVerifier.create(cache.get(1L))
+                .expectNext(fresh)
+                .verifyComplete();
+        verify(repository, times(2)).findAllById(List.of(1L));
+        verify(repository, times(2)).findById(1L);
+    }
+
+    @Test
+    public void batchUpdateItemsTest() {
+        AddCartItemRequest addRequest = new AddCartItemRequest();
+        addRequest.setQuantity(2);
+        addRequest.setUserId(5L);
+        addRequest.setBookId(1L);
+        shoppingCartService.addItem(addRequest).block();
+
+        BatchCartItemsRequest request = new BatchCartItemsRequest();
+        request.setUserId(5L);
+        request.setOperations(List.of(
+                new CartItemOperation(ADD, 1L, 3),
+                new CartItemOperation(ADD, 2L, 2),
+                new CartItemOperation(REDUCE, 1L, 4),
+                new CartItemOperation(REDUCE, 3L, 1),
+                new CartItemOperation(REMOVE, 2L, 1),
+                new CartItemOperation(ADD, 4L, 5),
+                new CartItemOperation(ADD, 2L, 1),
+                new CartItemOperation(REDUCE, 4L, 10)
+        ));
+        StepVerifier.create(shoppingCartService.batchUpdateItems(request))
+                .assertNext(items -> {
+                    assertThat(items.size()).isEqualTo(2);
+                    assertThat(items.get(0).getBookInfo().getId()).isEqualTo(2L);
+                    assertThat(items.get(0).getQuantity()).isEqualTo(1);
+                    assertThat(items.get(0).getCreatedTime()).isEqualTo(items.get(0).getUpdatedTime());
+                    assertThat(items.get(1).getBookInfo().getId()).isEqualTo(1L);
+                    assertThat(items.get(1).getQuantity()).isEqualTo(1);
+                    assertThat(items.get(1).getCreatedTime()).isBefore(items.get(1).getUpdatedTime());
+                })
+                .verifyComplete();
+
+        // unknown books fail the whole batch
+        request.setOperations(List.of(
+                new CartItemOperation(REMOVE, 1L, 1),
+                new CartItemOperation(ADD, Long.MAX_VALUE, 1)
+        ));
+        StepVerifier.create(shoppingCartService.batchUpdateItems(request))
+                .expectErrorSatisfies(ex -> matchBizError(ex, ErrorCode.DATA_NOT_FOUND))
+                .verify();
+
+        request.setOperations(List.of(
+                new CartItemOperation(REMOVE, 1L, 1),
+                new CartItemOperation(REDUCE, 2L, 1)
+        ));
+        StepVerifier.create(shoppingCartService.batchUpdateItems(request))
+                .expectNext(List.of())
+                .verifyComplete();
+
+        // an item whose book is gone can still be removed
+        ShoppingCart orphan = new ShoppingCart();
+        orphan.setUserId(5L);
+        orphan.setBookId(Long.MAX_VALUE);
+        orphan.setQuantity(1);
+        template.insert(orphan).block();
+        request.setOperations(List.of(new CartItemOperation(REMOVE, Long.MAX_VALUE, 1)));
+        StepVerifier.create(shoppingCartService.batchUpdateItems(request))
+                .expectNext(List.of())
+                .verifyComplete();
+
+        // the folded quantity must fit the quantity column
+        request.setOperations(List.of(
+                new CartItemOperation(ADD, 1L, Integer.MAX_VALUE),
+                new CartItemOperation(ADD, 1L, 1)
+        ));
+        StepVerifier.create(shoppingCartService.batchUpdateItems(request))
+                .expectErrorSatisfies(ex -> matchBizError(ex, ErrorCode.FAILED_PARAMETER_CHECK))
+                .verify();
+        StepVerifier.create(shoppingCartService.checkout(5L))
+                .assertNext(entity -> assertThat(entity.getItems()).isEmpty())
+                .verifyComplete();
+    }
+
+}
@@ -1,20 +0,0 @@
-package com.reopenai.bookstore.component.jackson.serializer;
-
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.JsonSerializer;
-import com.fasterxml.jackson.databind.SerializerProvider;
-
-import java.io.IOException;
-import java.math.BigDecimal;
-
-/**
- * @author Allen Huang
- */
-public class BigDecimalSerializer extends JsonSerializer<BigDecimal> {
-
-    @Override
-    public void serialize(BigDecimal value, JsonGenerator jsonGenerator, SerializerProvider serializers) throws IOException {
-        jsonGenerator.writeString(value.stripTrailingZeros().toPlainString());
-    }
-
-}
@@ -1,19 +0,0 @@
-package com.reopenai.bookstore.component.jackson.serializer;
-
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.JsonSerializer;
-import com.fasterxml.jackson.databind.SerializerProvider;
-
-import java.io.IOException;
-
-/**
- * @author Allen Huang
- */
-public class NumberSerializer extends JsonSerializer<Number> {
-
-    @Override
-    public void serialize(Number value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
-        gen.writeString(value.toString());
-    }
-
-}